@@ -16,20 +16,24 @@
  */
 package org.apache.camel.karavan.api;
 
+import io.vertx.core.json.JsonObject;
 import jakarta.inject.Inject;
-import jakarta.ws.rs.Consumes;
-import jakarta.ws.rs.POST;
-import jakarta.ws.rs.Path;
-import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.apache.camel.karavan.code.CodeService;
 import org.apache.camel.karavan.infinispan.InfinispanService;
 import org.apache.camel.karavan.kubernetes.KubernetesService;
+import org.apache.camel.karavan.service.BuildLogService;
+
+import java.io.IOException;
+import java.util.List;
 
 @Path("/api/build")
 public class BuildResource {
 
+    private static final int MAX_LINES = 10000;
+
     @Inject
     InfinispanService infinispanService;
 
@@ -39,6 +43,9 @@ public class BuildResource {
     @Inject
     CodeService codeService;
 
+    @Inject
+    BuildLogService buildLogService;
+
     @POST
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
@@ -53,4 +60,36 @@ public class BuildResource {
         }
     }
 
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/log/{projectId}")
+    public List<String> getBuildLogs(@PathParam("projectId") String projectId) {
+        return buildLogService.getArchivedTags(projectId);
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/log/{projectId}/{tag}")
+    public Response getBuildLog(@PathParam("projectId") String projectId,
+                                @PathParam("tag") String tag,
+                                @QueryParam("from") @DefaultValue("0") long from,
+                                @QueryParam("count") @DefaultValue("1000") int count) throws IOException {
+        JsonObject result = buildLogService.readLines(projectId, tag, from, Math.min(count, MAX_LINES));
+        return result != null ? Response.ok(result).build() : Response.status(Response.Status.NOT_FOUND).build();
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/log/{projectId}/{tag}/search")
+    public Response searchBuildLog(@PathParam("projectId") String projectId,
+                                   @PathParam("tag") String tag,
+                                   @QueryParam("text") String text,
+                                   @QueryParam("limit") @DefaultValue("100") int limit) throws IOException {
+        if (text == null || text.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+        JsonObject result = buildLogService.search(projectId, tag, text, Math.min(limit, MAX_LINES));
+        return result != null ? Response.ok(result).build() : Response.status(Response.Status.NOT_FOUND).build();
+    }
+
 }
\ No newline at end of file
@@ -50,12 +50,11 @@ public class ImagesResource {
                                  @PathParam("projectId") String projectId) {
 
         RegistryConfig registryConfig = registryService.getRegistryConfig();
-        String pattern = registryConfig.getGroup() + "/" + projectId;
         if (ConfigService.inKubernetes()) {
             return List.of();
         } else {
-            return dockerService.getImages()
-                    .stream().filter(s -> s.contains(pattern)).sorted(Comparator.reverseOrder()).toList();
+            return dockerService.getProjectImages(registryConfig.getGroup(), projectId)
+                    .stream().sorted(Comparator.reverseOrder()).toList();
         }
     }
 
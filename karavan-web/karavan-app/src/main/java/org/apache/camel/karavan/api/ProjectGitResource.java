@@ -16,6 +16,8 @@
  */
 package org.apache.camel.karavan.api;
 
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
@@ -25,6 +27,7 @@ import org.apache.camel.karavan.service.ProjectService;
 import org.jboss.logging.Logger;
 
 import java.util.HashMap;
+import java.util.List;
 
 @Path("/api/git")
 public class ProjectGitResource {
@@ -41,6 +44,19 @@ public class ProjectGitResource {
         return projectService.commitAndPushProject(params.get("projectId"), params.get("message"));
     }
 
+    @POST
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Path("/batch")
+    public Response pushAll(JsonObject params) throws Exception {
+        Object value = params != null ? params.getValue("projectIds") : null;
+        if (!(value instanceof JsonArray projectIds) || projectIds.isEmpty() || !projectIds.stream().allMatch(String.class::isInstance)) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("projectIds must be a non-empty list of project ids").build();
+        }
+        List<Project> projects = projectService.commitAndPushProjects(projectIds.stream().map(String.class::cast).toList(), params.getString("message"));
+        return Response.ok(projects).build();
+    }
+
     @PUT
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
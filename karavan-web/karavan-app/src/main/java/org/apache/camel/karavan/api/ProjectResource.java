@@ -18,16 +18,17 @@ package org.apache.camel.karavan.api;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
-import jakarta.ws.rs.core.MediaType;
-import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.*;
 import org.apache.camel.karavan.docker.DockerService;
 import org.apache.camel.karavan.git.GitService;
 import org.apache.camel.karavan.infinispan.InfinispanService;
+import org.apache.camel.karavan.infinispan.ProjectCatalog;
 import org.apache.camel.karavan.infinispan.model.CamelStatus;
 import org.apache.camel.karavan.infinispan.model.CamelStatusValue;
 import org.apache.camel.karavan.infinispan.model.ContainerStatus;
 import org.apache.camel.karavan.infinispan.model.Project;
 import org.apache.camel.karavan.kubernetes.KubernetesService;
+import org.apache.camel.karavan.service.CamelService;
 import org.apache.camel.karavan.service.ConfigService;
 import org.apache.camel.karavan.service.ProjectService;
 import org.jboss.logging.Logger;
@@ -65,10 +66,24 @@ public class ProjectResource {
     @Inject
     ProjectService projectService;
 
+    @Inject
+    CamelService camelService;
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<Project> getAll(@QueryParam("type") String type) {
-        return projectService.getAllProjects(type);
+    public Response getAll(@QueryParam("type") String type, @Context Request request) {
+        ProjectCatalog.Snapshot catalog = projectService.getProjectCatalog(type);
+        if (catalog == null) {
+            return Response.ok(List.of()).build();
+        }
+        EntityTag etag = new EntityTag(catalog.getEtag());
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.cacheControl(cacheControl).build();
+        }
+        return Response.ok(catalog.getJson()).tag(etag).cacheControl(cacheControl).build();
     }
 
     @GET
@@ -136,6 +151,7 @@ public class ProjectResource {
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/status/camel/{projectId}/{env}")
     public Response getCamelStatusForProjectAndEnv(@PathParam("projectId") String projectId, @PathParam("env") String env) {
+        camelService.onStatusViewed(projectId);
         List<CamelStatus> statuses = infinispanService.getCamelStatusesByProjectAndEnv(projectId, env)
                 .stream().map(camelStatus -> {
                     var stats = camelStatus.getStatuses().stream().filter(s -> !Objects.equals(s.getName(), CamelStatusValue.Name.trace)).toList();
@@ -153,6 +169,7 @@ public class ProjectResource {
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/traces/{projectId}/{env}")
     public Response getCamelTracesForProjectAndEnv(@PathParam("projectId") String projectId, @PathParam("env") String env) {
+        camelService.onTraceViewed(projectId);
         List<CamelStatus> statuses = infinispanService.getCamelStatusesByProjectAndEnv(projectId, env)
                 .stream().map(camelStatus -> {
                     var stats = camelStatus.getStatuses().stream().filter(s -> Objects.equals(s.getName(), CamelStatusValue.Name.trace)).toList();
@@ -16,17 +16,25 @@
  */
 package org.apache.camel.karavan.api;
 
+import io.vertx.core.json.JsonArray;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 import org.apache.camel.karavan.infinispan.InfinispanService;
 import org.apache.camel.karavan.infinispan.model.CamelStatus;
 import org.apache.camel.karavan.infinispan.model.CamelStatusValue;
 import org.apache.camel.karavan.infinispan.model.DeploymentStatus;
+import org.apache.camel.karavan.service.CamelService;
+import org.apache.camel.karavan.service.ContainerStatusService;
+import org.apache.camel.karavan.service.StatusEventService;
 import org.jboss.logging.Logger;
 
 import java.util.List;
+import java.util.Map;
 
 @Path("/api/status")
 public class StatusResource {
@@ -36,6 +44,15 @@ public class StatusResource {
     @Inject
     InfinispanService infinispanService;
 
+    @Inject
+    ContainerStatusService containerStatusService;
+
+    @Inject
+    CamelService camelService;
+
+    @Inject
+    StatusEventService statusEventService;
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/deployment/{name}/{env}")
@@ -58,6 +75,37 @@ public class StatusResource {
         }
     }
 
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/camel")
+    public Response pushCamelStatuses(JsonArray snapshots) {
+        if (infinispanService.isReady()) {
+            int accepted = camelService.saveCamelStatusSnapshots(snapshots);
+            return Response.accepted(Map.of("accepted", accepted)).build();
+        } else {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Path("/events")
+    public void statusEvents(@QueryParam("cache") List<String> caches, @Context SseEventSink eventSink, @Context Sse sse) {
+        statusEventService.subscribe(eventSink, sse, caches);
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/cache")
+    public Map<String, Map<String, Long>> getNearCacheStatistics() {
+        if (infinispanService.isReady()) {
+            return infinispanService.getNearCacheStatistics();
+        } else {
+            return Map.of();
+        }
+    }
+
     @DELETE
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/deployment")
@@ -76,6 +124,7 @@ public class StatusResource {
     public Response deleteContainerStatuses() {
         if (infinispanService.isReady()) {
             infinispanService.deleteAllContainersStatuses();
+            containerStatusService.resetLastStatuses();
             return Response.ok().build();
         } else {
             return Response.noContent().build();
@@ -100,6 +149,7 @@ public class StatusResource {
     public Response deleteAllStatuses() {
         if (infinispanService.isReady()) {
             infinispanService.clearAllStatuses();
+            containerStatusService.resetLastStatuses();
             return Response.ok().build();
         } else {
             return Response.noContent().build();
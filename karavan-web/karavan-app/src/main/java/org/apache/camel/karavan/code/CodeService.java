@@ -24,7 +24,6 @@ import io.quarkus.qute.Engine;
 import io.quarkus.qute.Template;
 import io.quarkus.qute.TemplateInstance;
 import io.vertx.core.Vertx;
-import io.vertx.core.buffer.Buffer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.apache.camel.CamelContext;
@@ -40,6 +39,8 @@ import org.apache.camel.karavan.infinispan.model.Project;
 import org.apache.camel.karavan.infinispan.model.ProjectFile;
 import org.apache.camel.karavan.kubernetes.KubernetesService;
 import org.apache.camel.karavan.service.ConfigService;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 import org.yaml.snakeyaml.LoaderOptions;
@@ -47,9 +48,11 @@ import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.SafeConstructor;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @ApplicationScoped
 public class CodeService {
@@ -127,20 +130,24 @@ public class CodeService {
         return new ProjectFile(APPLICATION_PROPERTIES_FILENAME, code, project.getProjectId(), Instant.now().toEpochMilli());
     }
 
-    public String saveProjectFilesInTemp(Map<String, String> files) {
-        String temp = vertx.fileSystem().createTempDirectoryBlocking("temp");
-        files.forEach((fileName, code) -> addFile(temp, fileName, code));
-        return temp;
-    }
-
-    private void addFile(String temp, String fileName, String code) {
-        try {
-            String path = temp + File.separator + fileName;
-            vertx.fileSystem().writeFileBlocking(path, Buffer.buffer(code));
-        } catch (Exception e) {
-            LOGGER.error(e.getMessage());
-            e.printStackTrace();
+    public byte[] getFilesArchive(Map<String, String> files, int mode, boolean compress) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = compress ? new GZIPOutputStream(bytes) : bytes;
+             TarArchiveOutputStream tarArchive = new TarArchiveOutputStream(out)) {
+            tarArchive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tarArchive.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                byte[] data = file.getValue().getBytes(StandardCharsets.UTF_8);
+                TarArchiveEntry tarEntry = new TarArchiveEntry(file.getKey());
+                tarEntry.setSize(data.length);
+                tarEntry.setMode(mode);
+                tarArchive.putArchiveEntry(tarEntry);
+                tarArchive.write(data);
+                tarArchive.closeArchiveEntry();
+            }
+            tarArchive.finish();
         }
+        return bytes.toByteArray();
     }
 
     public String getBuilderScript() {
@@ -323,11 +330,12 @@ public class CodeService {
     public void updateDockerComposeImage(String projectId, String imageName) {
         ProjectFile compose = infinispanService.getProjectFile(projectId, PROJECT_COMPOSE_FILENAME);
         if (compose != null) {
+            String previousHash = compose.getHash();
             DockerComposeService service = DockerComposeConverter.fromCode(compose.getCode(), projectId);
             service.setImage(imageName);
             String code = DockerComposeConverter.toCode(service);
             compose.setCode(code);
-            infinispanService.saveProjectFile(compose);
+            infinispanService.saveProjectFile(compose, previousHash);
         }
     }
 
@@ -21,31 +21,54 @@ import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.model.Container;
 import com.github.dockerjava.api.model.Event;
 import com.github.dockerjava.api.model.EventType;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.apache.camel.karavan.infinispan.InfinispanService;
 import org.apache.camel.karavan.infinispan.model.ContainerStatus;
 import org.apache.camel.karavan.registry.RegistryService;
+import org.apache.camel.karavan.service.BlockingTaskExecutor;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
+import static org.apache.camel.karavan.service.ContainerStatusService.CONTAINER_DELETED;
+import static org.apache.camel.karavan.service.ContainerStatusService.CONTAINER_STATUS;
 import static org.apache.camel.karavan.shared.Constants.*;
 
 @ApplicationScoped
 public class DockerEventListener implements ResultCallback<Event> {
 
+    private static final Set<String> STATUS_ACTIONS = Set.of("create", "start", "restart", "stop", "die", "kill", "pause", "unpause", "rename", "update");
+    private static final String HEALTH_STATUS_ACTION = "health_status";
+    private static final String DESTROY_ACTION = "destroy";
+    private static final long RESUBSCRIBE_DELAY = 1000;
+
+    @ConfigProperty(name = "karavan.environment")
+    String environment;
+
     @Inject
     DockerService dockerService;
 
     @Inject
     RegistryService registryService;
 
+    @Inject
+    BlockingTaskExecutor blockingTaskExecutor;
+
     @Inject
     InfinispanService infinispanService;
 
+    @Inject
+    EventBus eventBus;
+
     private static final Logger LOGGER = Logger.getLogger(DockerEventListener.class.getName());
 
     @Override
@@ -56,10 +79,20 @@ public class DockerEventListener implements ResultCallback<Event> {
     @Override
     public void onNext(Event event) {
         try {
-            if (Objects.equals(event.getType(), EventType.CONTAINER)) {
-                Container container = dockerService.getContainer(event.getId());
-                if (container != null) {
-                    onContainerEvent(event, container);
+            if (Objects.equals(event.getType(), EventType.IMAGE)) {
+                String id = event.getActor() != null ? event.getActor().getId() : event.getId();
+                if (id != null) {
+                    dockerService.onImageEvent(event.getAction(), id);
+                }
+            } else if (Objects.equals(event.getType(), EventType.CONTAINER) && infinispanService.isReady()) {
+                String action = event.getAction() != null ? event.getAction() : "";
+                if (Objects.equals(action, DESTROY_ACTION)) {
+                    onContainerDestroyed(event);
+                } else if (STATUS_ACTIONS.contains(action) || action.startsWith(HEALTH_STATUS_ACTION)) {
+                    Container container = dockerService.getContainer(event.getId());
+                    if (container != null) {
+                        onContainerEvent(event, container);
+                    }
                 }
             }
         } catch (Exception exception) {
@@ -67,30 +100,73 @@ public class DockerEventListener implements ResultCallback<Event> {
         }
     }
 
-    public void onContainerEvent(Event event, Container container) throws InterruptedException {
-        if (infinispanService.isReady()) {
-            if ("exited".equalsIgnoreCase(container.getState())
-                    && Objects.equals(container.getLabels().get(LABEL_TYPE), ContainerStatus.ContainerType.build.name())) {
-                String tag = container.getLabels().get(LABEL_TAG);
-                String projectId = container.getLabels().get(LABEL_PROJECT_ID);
-                syncImage(projectId, tag);
+    public void onContainerEvent(Event event, Container container) {
+        ContainerStatus status = dockerService.getContainerStatus(container, environment);
+        eventBus.publish(CONTAINER_STATUS, JsonObject.mapFrom(status));
+        if ("exited".equalsIgnoreCase(container.getState())
+                && Objects.equals(container.getLabels().get(LABEL_TYPE), ContainerStatus.ContainerType.build.name())) {
+            String tag = container.getLabels().get(LABEL_TAG);
+            String projectId = container.getLabels().get(LABEL_PROJECT_ID);
+            syncImage(projectId, tag);
+        }
+    }
+
+    private void onContainerDestroyed(Event event) {
+        Map<String, String> attributes = event.getActor() != null ? event.getActor().getAttributes() : null;
+        if (attributes != null && attributes.containsKey("name")) {
+            String name = attributes.get("name");
+            String projectId = attributes.getOrDefault(LABEL_PROJECT_ID, name);
+            ContainerStatus status = infinispanService.getContainerStatus(projectId, environment, name);
+            if (status != null) {
+                eventBus.publish(CONTAINER_DELETED, JsonObject.mapFrom(status));
             }
         }
     }
 
-    private void syncImage(String projectId, String tag) throws InterruptedException {
+    // the pull runs off the docker events thread, so status events are not held up by a large image
+    private void syncImage(String projectId, String tag) {
         String image = registryService.getRegistryWithGroupForSync() + "/" + projectId + ":" + tag;
-        dockerService.pullImage(image, true);
+        try {
+            blockingTaskExecutor.execute(() -> {
+                try {
+                    dockerService.pullImage(image, true);
+                } catch (Exception e) {
+                    LOGGER.error(e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.error("Image sync skipped for " + image);
+        }
     }
 
     @Override
     public void onError(Throwable throwable) {
         LOGGER.error(throwable.getMessage());
+        resubscribe();
     }
 
     @Override
     public void onComplete() {
         LOGGER.error("DockerEventListener complete");
+        resubscribe();
+    }
+
+    private void resubscribe() {
+        try {
+            blockingTaskExecutor.execute(() -> {
+                try {
+                    Thread.sleep(RESUBSCRIBE_DELAY);
+                    dockerService.restartListeners();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    LOGGER.error("Error restarting DockerEventListener: " + e.getMessage());
+                    resubscribe();
+                }
+            });
+        } catch (Exception e) {
+            LOGGER.error("Error restarting DockerEventListener: " + e.getMessage());
+        }
     }
 
     @Override
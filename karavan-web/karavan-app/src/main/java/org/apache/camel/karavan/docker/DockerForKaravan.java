@@ -51,7 +51,7 @@ public class DockerForKaravan {
         Map<String, String> volumes = getMavenVolumes();
         Container c = createDevmodeContainer(projectId, jBangOptions, ports, volumes);
         dockerService.runContainer(projectId);
-        dockerService.copyFiles(c.getId(), "/karavan/code", files, true);
+        dockerService.copyFiles(c.getId(), "/karavan/code", files);
     }
 
     protected Container createDevmodeContainer(String projectId, String jBangOptions, Map<Integer, Integer> ports, Map<String, String> volumes) throws InterruptedException {
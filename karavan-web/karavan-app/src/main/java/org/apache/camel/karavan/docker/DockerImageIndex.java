@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.docker;
+
+import java.util.*;
+
+public class DockerImageIndex {
+
+    private static final String NONE_TAG = "<none>:<none>";
+
+    private final Map<String, Set<String>> tagsById = new HashMap<>();
+    private final Map<String, String> idByTag = new HashMap<>();
+    private final Map<String, Set<String>> tagsByProject = new HashMap<>();
+    // images changed by events while a full listing runs, their event state wins over the listing
+    private Set<String> changedDuringRebuild;
+
+    public synchronized void startRebuild() {
+        changedDuringRebuild = new HashSet<>();
+    }
+
+    public synchronized void rebuild(Map<String, List<String>> images) {
+        Set<String> changed = changedDuringRebuild != null ? changedDuringRebuild : Set.of();
+        Map<String, List<String>> kept = new HashMap<>();
+        changed.stream().filter(tagsById::containsKey).forEach(id -> kept.put(id, List.copyOf(tagsById.get(id))));
+        changedDuringRebuild = null;
+        tagsById.clear();
+        idByTag.clear();
+        tagsByProject.clear();
+        images.forEach((id, tags) -> {
+            if (!changed.contains(id)) {
+                add(id, tags);
+            }
+        });
+        kept.forEach(this::add);
+    }
+
+    public synchronized void put(String imageId, List<String> tags) {
+        markChanged(imageId);
+        removeImage(imageId);
+        add(imageId, tags);
+    }
+
+    public synchronized void remove(String imageId) {
+        markChanged(imageId);
+        removeImage(imageId);
+    }
+
+    public synchronized boolean hasTag(String tag) {
+        return idByTag.containsKey(normalize(tag));
+    }
+
+    public synchronized String getImageId(String tag) {
+        return idByTag.get(normalize(tag));
+    }
+
+    public synchronized List<String> getProjectTags(String group, String projectId) {
+        Set<String> tags = tagsByProject.get(group + "/" + projectId);
+        return tags != null ? List.copyOf(tags) : List.of();
+    }
+
+    private void markChanged(String imageId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(imageId);
+        }
+    }
+
+    private void removeImage(String imageId) {
+        Set<String> tags = tagsById.remove(imageId);
+        if (tags != null) {
+            tags.forEach(tag -> {
+                idByTag.remove(tag);
+                tagsByProject.computeIfPresent(getProjectKey(tag), (key, projectTags) -> {
+                    projectTags.remove(tag);
+                    return projectTags.isEmpty() ? null : projectTags;
+                });
+            });
+        }
+    }
+
+    private void add(String imageId, List<String> tags) {
+        if (tags == null) {
+            return;
+        }
+        tags.stream().filter(tag -> tag != null && !NONE_TAG.equals(tag)).forEach(tag -> {
+            // a tag moved to a new image is no longer on the old one
+            String previousId = idByTag.put(tag, imageId);
+            if (previousId != null && !previousId.equals(imageId)) {
+                tagsById.computeIfPresent(previousId, (id, previousTags) -> {
+                    previousTags.remove(tag);
+                    return previousTags.isEmpty() ? null : previousTags;
+                });
+            }
+            tagsById.computeIfAbsent(imageId, id -> new HashSet<>()).add(tag);
+            tagsByProject.computeIfAbsent(getProjectKey(tag), key -> new HashSet<>()).add(tag);
+        });
+    }
+
+    // registry:5000/group/project:tag belongs to group/project
+    static String getProjectKey(String tag) {
+        String repository = tag.lastIndexOf(':') > tag.lastIndexOf('/') ? tag.substring(0, tag.lastIndexOf(':')) : tag;
+        String[] parts = repository.split("/");
+        return parts.length > 1 ? parts[parts.length - 2] + "/" + parts[parts.length - 1] : repository;
+    }
+
+    static String normalize(String image) {
+        return image.lastIndexOf(':') > image.lastIndexOf('/') ? image : image + ":latest";
+    }
+}
@@ -19,34 +19,30 @@ package org.apache.camel.karavan.docker;
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.command.*;
+import com.github.dockerjava.api.exception.NotFoundException;
 import com.github.dockerjava.api.model.*;
 import com.github.dockerjava.core.DefaultDockerClientConfig;
 import com.github.dockerjava.core.DockerClientConfig;
 import com.github.dockerjava.core.DockerClientImpl;
-import com.github.dockerjava.core.InvocationBuilder;
 import com.github.dockerjava.transport.DockerHttpClient;
 import com.github.dockerjava.zerodep.ZerodepDockerHttpClient;
-import io.vertx.core.Vertx;
-import io.vertx.core.buffer.Buffer;
+import io.quarkus.scheduler.Scheduled;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.apache.camel.karavan.code.CodeService;
 import org.apache.camel.karavan.code.model.DockerComposeService;
 import org.apache.camel.karavan.infinispan.model.ContainerStatus;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
-import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
-import org.apache.commons.io.IOUtils;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.camel.karavan.shared.Constants.LABEL_PROJECT_ID;
 import static org.apache.camel.karavan.shared.Constants.LABEL_TYPE;
@@ -71,16 +67,25 @@ public class DockerService extends DockerServiceUtils {
     @ConfigProperty(name = "karavan.image-registry-password")
     Optional<String> password;
 
+    @ConfigProperty(name = "karavan.container.statistics.parallelism", defaultValue = "10")
+    int statisticsParallelism;
+    @ConfigProperty(name = "karavan.container.statistics.timeout", defaultValue = "2s")
+    Duration statisticsTimeout;
+    @ConfigProperty(name = "karavan.container.statistics.deadline", defaultValue = "6s")
+    Duration statisticsDeadline;
+
+    @ConfigProperty(name = "karavan.devmode.files.compress", defaultValue = "true")
+    boolean compressFiles;
+
     @Inject
     DockerEventListener dockerEventListener;
 
     @Inject
     CodeService codeService;
 
-    @Inject
-    Vertx vertx;
-
     private DockerClient dockerClient;
+    private final DockerImageIndex imageIndex = new DockerImageIndex();
+    private volatile boolean listenersStarted;
 
     public boolean checkDocker() {
         try {
@@ -106,22 +111,123 @@ public class DockerService extends DockerServiceUtils {
         return result;
     }
 
+    // requests are submitted until the sweep deadline, each request ends at its own timeout,
+    // so a sweep takes at most deadline plus timeout however many requests hang
     public List<ContainerStatus> collectContainersStatistics() {
-        List<ContainerStatus> result = new ArrayList<>();
-        getDockerClient().listContainersCmd().withShowAll(true).exec().forEach(container -> {
+        List<Container> containers = getDockerClient().listContainersCmd().withShowAll(true).exec();
+        Instant deadline = Instant.now().plus(statisticsDeadline);
+        Semaphore permits = new Semaphore(statisticsParallelism);
+        Map<String, StatisticsCallback> callbacks = new HashMap<>();
+        int skipped = 0;
+        for (Container container : containers) {
+            if (Objects.equals(container.getState(), ContainerStatus.State.running.name())) {
+                StatisticsCallback callback = null;
+                try {
+                    if (acquireStatisticsPermit(permits, callbacks.values(), deadline)) {
+                        callback = new StatisticsCallback(permits::release, statisticsTimeout);
+                        getDockerClient().statsCmd(container.getId()).withNoStream(true).exec(callback);
+                        callbacks.put(container.getId(), callback);
+                    } else {
+                        skipped++;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    LOGGER.error("Error requesting statistics for " + container.getId() + ": " + e.getMessage());
+                    // the request never started, so its callback will not release the permit
+                    if (callback != null) {
+                        callback.finish();
+                    }
+                }
+            }
+        }
+        if (skipped > 0) {
+            LOGGER.warn("Statistics skipped for " + skipped + " containers, sweep deadline of " + statisticsDeadline + " passed");
+        }
+        List<ContainerStatus> result = new ArrayList<>(containers.size());
+        for (Container container : containers) {
             ContainerStatus containerStatus = getContainerStatus(container, environment);
-            Statistics stats = getContainerStats(container.getId());
-            updateStatistics(containerStatus, stats);
+            StatisticsCallback callback = callbacks.get(container.getId());
+            updateStatistics(containerStatus, callback != null ? callback.getResult() : null);
             result.add(containerStatus);
-        });
+        }
         return result;
     }
 
+    // waits for a free slot, expiring requests past their timeout, until the sweep deadline
+    private boolean acquireStatisticsPermit(Semaphore permits, Collection<StatisticsCallback> callbacks, Instant deadline) throws InterruptedException {
+        while (true) {
+            Instant now = Instant.now();
+            callbacks.forEach(callback -> callback.expire(now));
+            if (permits.tryAcquire()) {
+                return true;
+            }
+            if (!now.isBefore(deadline)) {
+                return false;
+            }
+            Instant wakeUp = callbacks.stream()
+                    .filter(callback -> !callback.isFinished())
+                    .map(StatisticsCallback::getExpiresAt)
+                    .filter(deadline::isAfter)
+                    .min(Comparator.naturalOrder())
+                    .orElse(deadline);
+            long wait = Math.max(Duration.between(now, wakeUp).toMillis(), 1);
+            if (permits.tryAcquire(wait, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+    }
+
     public void startListeners() {
+        listenersStarted = true;
         getDockerClient().eventsCmd().exec(dockerEventListener);
+        refreshImages();
+    }
+
+    // the events stream ended or failed, image events may have been missed meanwhile
+    public void restartListeners() {
+        if (listenersStarted) {
+            LOGGER.info("Restart Docker events listener");
+            getDockerClient().eventsCmd().exec(dockerEventListener);
+            refreshImages();
+        }
+    }
+
+    @Scheduled(every = "{karavan.docker.image.refresh.interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void refreshImagesPeriodically() {
+        if (listenersStarted) {
+            refreshImages();
+        }
+    }
+
+    public void refreshImages() {
+        imageIndex.startRebuild();
+        Map<String, List<String>> images = new HashMap<>();
+        getDockerClient().listImagesCmd().exec().forEach(image -> {
+            if (image.getRepoTags() != null) {
+                images.put(image.getId(), List.of(image.getRepoTags()));
+            }
+        });
+        imageIndex.rebuild(images);
+        LOGGER.info("Indexed " + images.size() + " docker images");
+    }
+
+    public void onImageEvent(String action, String imageIdOrName) {
+        if (Objects.equals(action, "delete")) {
+            imageIndex.remove(imageIdOrName);
+        } else {
+            try {
+                InspectImageResponse image = getDockerClient().inspectImageCmd(imageIdOrName).exec();
+                imageIndex.put(image.getId(), image.getRepoTags());
+            } catch (NotFoundException e) {
+                imageIndex.remove(imageIdOrName);
+            }
+        }
     }
 
     public void stopListeners() throws IOException {
+        listenersStarted = false;
         dockerEventListener.close();
     }
 
@@ -150,19 +256,6 @@ public class DockerService extends DockerServiceUtils {
         return !containers.isEmpty() ? containers.get(0) : null;
     }
 
-    public Statistics getContainerStats(String containerId) {
-        InvocationBuilder.AsyncResultCallback<Statistics> callback = new InvocationBuilder.AsyncResultCallback<>();
-        getDockerClient().statsCmd(containerId).withContainerId(containerId).withNoStream(true).exec(callback);
-        Statistics stats = null;
-        try {
-            stats = callback.awaitResult();
-            callback.close();
-        } catch (RuntimeException | IOException e) {
-            // you may want to throw an exception here
-        }
-        return stats;
-    }
-
     public Container createContainerFromCompose(DockerComposeService compose, ContainerStatus.ContainerType type, Boolean pull, String... command) throws InterruptedException {
         return createContainerFromCompose(compose, type, Map.of(), pull, command);
     }
@@ -306,32 +399,17 @@ public class DockerService extends DockerServiceUtils {
         dockerClient.execStartCmd(id).exec(callBack).awaitCompletion();
     }
 
-    protected void copyFiles(String containerId, String containerPath, Map<String, String> files, boolean dirChildrenOnly) throws IOException {
-        String temp = codeService.saveProjectFilesInTemp(files);
+    protected void copyFiles(String containerId, String containerPath, Map<String, String> files) throws IOException {
+        byte[] archive = codeService.getFilesArchive(files, TarArchiveEntry.DEFAULT_FILE_MODE, compressFiles);
         dockerClient.copyArchiveToContainerCmd(containerId).withRemotePath(containerPath)
-                .withDirChildrenOnly(dirChildrenOnly).withHostResource(temp).exec();
+                .withTarInputStream(new ByteArrayInputStream(archive)).exec();
     }
 
     public void copyExecFile(String containerId, String containerPath, String filename, String script) {
-        String temp = vertx.fileSystem().createTempDirectoryBlocking(containerId);
-        String path = temp + File.separator + filename;
-        vertx.fileSystem().writeFileBlocking(path, Buffer.buffer(script));
-
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-             TarArchiveOutputStream tarArchive = new TarArchiveOutputStream(byteArrayOutputStream)) {
-            tarArchive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
-            tarArchive.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
-
-            TarArchiveEntry tarEntry = new TarArchiveEntry(new File(path));
-            tarEntry.setName(filename);
-            tarEntry.setMode(0755);
-            tarArchive.putArchiveEntry(tarEntry);
-            IOUtils.write(Files.readAllBytes(Paths.get(path)), tarArchive);
-            tarArchive.closeArchiveEntry();
-            tarArchive.finish();
-
+        try {
+            byte[] archive = codeService.getFilesArchive(Map.of(filename, script), 0755, false);
             dockerClient.copyArchiveToContainerCmd(containerId)
-                    .withTarInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))
+                    .withTarInputStream(new ByteArrayInputStream(archive))
                     .withRemotePath(containerPath).exec();
         } catch (Exception e) {
             LOGGER.error(e.getMessage());
@@ -339,22 +417,19 @@ public class DockerService extends DockerServiceUtils {
         }
     }
 
-    public void logContainer(String containerName, LogCallback callback) {
-        try {
-            Container container = getContainerByName(containerName);
-            if (container != null) {
-                getDockerClient().logContainerCmd(container.getId())
-                        .withStdOut(true)
-                        .withStdErr(true)
-                        .withTimestamps(false)
-                        .withFollowStream(true)
-                        .withTail(100)
-                        .exec(callback);
-                callback.awaitCompletion();
-            }
-        } catch (Exception e) {
-            LOGGER.error(e.getMessage());
+    // frames are delivered on the docker-java stream thread, the caller does not wait for completion
+    public boolean followContainerLog(String containerName, int tail, LogCallback callback) {
+        Container container = getContainerByName(containerName);
+        if (container != null) {
+            LogContainerCmd cmd = getDockerClient().logContainerCmd(container.getId())
+                    .withStdOut(true)
+                    .withStdErr(true)
+                    .withTimestamps(false)
+                    .withFollowStream(true);
+            (tail < 0 ? cmd.withTailAll() : cmd.withTail(tail)).exec(callback);
+            return true;
         }
+        return false;
     }
 
     public void pauseContainer(String name) {
@@ -386,13 +461,7 @@ public class DockerService extends DockerServiceUtils {
     }
 
     public void pullImage(String image, boolean pullAlways) throws InterruptedException {
-        List<Image> images = getDockerClient().listImagesCmd().withShowAll(true).exec();
-        List<String> tags = images.stream()
-                .map(i -> Arrays.stream(i.getRepoTags()).collect(Collectors.toList()))
-                .flatMap(Collection::stream)
-                .toList();
-
-        if (pullAlways || !images.stream().anyMatch(i -> tags.contains(image))) {
+        if (pullAlways || !imageIndex.hasTag(image)) {
             var callback = new PullCallback(LOGGER::info);
             getDockerClient().pullImageCmd(image).exec(callback);
             callback.awaitCompletion();
@@ -440,17 +509,20 @@ public class DockerService extends DockerServiceUtils {
                 .max().orElse(port);
     }
 
-    public List<String> getImages() {
-        return getDockerClient().listImagesCmd().withShowAll(true).exec().stream()
-                .filter(image -> image != null && image.getRepoTags() != null && image.getRepoTags().length > 0)
-                .map(image -> image.getRepoTags()[0]).toList();
+    public List<String> getProjectImages(String group, String projectId) {
+        return imageIndex.getProjectTags(group, projectId);
     }
 
     public void deleteImage(String imageName) {
-        Optional<Image> image = getDockerClient().listImagesCmd().withShowAll(true).exec().stream()
-                .filter(i -> Arrays.stream(i.getRepoTags()).anyMatch(s -> Objects.equals(s, imageName))).findFirst();
-        if (image.isPresent()) {
-            getDockerClient().removeImageCmd(image.get().getId()).exec();
+        // an image missing from the index is removed by name
+        String imageId = imageIndex.getImageId(imageName);
+        try {
+            getDockerClient().removeImageCmd(imageId != null ? imageId : imageName).exec();
+        } catch (NotFoundException e) {
+            LOGGER.info("Image not found " + imageName);
+            if (imageId != null) {
+                imageIndex.remove(imageId);
+            }
         }
     }
 }
@@ -20,14 +20,21 @@ package org.apache.camel.karavan.docker;
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.model.Frame;
 
+import java.io.IOException;
 import java.util.function.Consumer;
 
 public class LogCallback extends ResultCallback.Adapter<Frame> {
 
     private final Consumer<String> action;
+    private final Runnable onClose;
 
     public LogCallback(Consumer<String> action) {
+        this(action, () -> {});
+    }
+
+    public LogCallback(Consumer<String> action, Runnable onClose) {
         this.action = action;
+        this.onClose = onClose;
     }
 
     @Override
@@ -35,4 +42,13 @@ public class LogCallback extends ResultCallback.Adapter<Frame> {
         action.accept(new String(frame.getPayload()));
     }
 
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            onClose.run();
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.camel.karavan.docker;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Statistics;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class StatisticsCallback extends ResultCallback.Adapter<Statistics> {
+
+    private final Runnable onFinish;
+    private final AtomicBoolean finished = new AtomicBoolean(false);
+    private final Instant expiresAt;
+    private volatile Statistics result;
+
+    public StatisticsCallback(Runnable onFinish, Duration timeout) {
+        this.onFinish = onFinish;
+        this.expiresAt = Instant.now().plus(timeout);
+    }
+
+    @Override
+    public void onNext(Statistics statistics) {
+        this.result = statistics;
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        super.onError(throwable);
+        finish();
+    }
+
+    @Override
+    public void onComplete() {
+        super.onComplete();
+        finish();
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isFinished() {
+        return finished.get();
+    }
+
+    // a request past its deadline is closed, so its slot is free for the next container
+    public void expire(Instant now) {
+        if (!isFinished() && !now.isBefore(expiresAt)) {
+            closeQuietly();
+            finish();
+        }
+    }
+
+    public Statistics getResult() {
+        try {
+            long remaining = Duration.between(Instant.now(), expiresAt).toMillis();
+            if (remaining <= 0 || !awaitCompletion(remaining, TimeUnit.MILLISECONDS)) {
+                closeQuietly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finish();
+        return result;
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            // statistics are optional
+        }
+    }
+
+    void finish() {
+        if (finished.compareAndSet(false, true)) {
+            onFinish.run();
+        }
+    }
+}
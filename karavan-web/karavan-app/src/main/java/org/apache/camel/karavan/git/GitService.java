@@ -25,6 +25,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.apache.camel.karavan.git.model.GitConfig;
 import org.apache.camel.karavan.git.model.GitRepo;
+import org.apache.camel.karavan.git.model.GitRepoChanges;
 import org.apache.camel.karavan.git.model.GitRepoFile;
 import org.apache.camel.karavan.infinispan.model.Project;
 import org.apache.camel.karavan.infinispan.model.ProjectFile;
@@ -32,14 +33,26 @@ import org.apache.camel.karavan.kubernetes.KubernetesService;
 import org.apache.camel.karavan.service.ConfigService;
 import org.eclipse.jgit.api.*;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.api.errors.InvalidRemoteException;
 import org.eclipse.jgit.api.errors.RefNotFoundException;
 import org.eclipse.jgit.api.errors.TransportException;
 import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.InvalidObjectIdException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
 import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.*;
 import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
 import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.microprofile.faulttolerance.Retry;
@@ -48,10 +61,17 @@ import org.jboss.logging.Logger;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class GitService {
@@ -65,19 +85,82 @@ public class GitService {
     @Inject
     SecurityIdentity securityIdentity;
 
-    private Git gitForImport;
+    // one long-lived local clone per repository and branch, all operations are serialized on it
+    private final Object mirrorLock = new Object();
+    private Git mirror;
+    private String mirrorId;
+    private ExecutorService readExecutor;
 
     private static final Logger LOGGER = Logger.getLogger(GitService.class.getName());
 
     public Git getGitForImport(){
-        if (gitForImport == null) {
+        synchronized (mirrorLock) {
             try {
-                gitForImport = getGit(true, vertx.fileSystem().createTempDirectoryBlocking("import"));
+                GitConfig gitConfig = getGitConfig();
+                return getMirror(gitConfig, getCredentials(gitConfig), false);
             } catch (Exception e) {
                 LOGGER.error("Error", e);
+                return null;
             }
         }
-        return gitForImport;
+    }
+
+    private CredentialsProvider getCredentials(GitConfig gitConfig) {
+        return new UsernamePasswordCredentialsProvider(gitConfig.getUsername(), gitConfig.getPassword());
+    }
+
+    private Git getMirror(GitConfig gitConfig, CredentialsProvider cred, boolean forWrite) throws GitAPIException, IOException, URISyntaxException {
+        String id = UUID.nameUUIDFromBytes((gitConfig.getUri() + "#" + gitConfig.getBranch()).getBytes(StandardCharsets.UTF_8)).toString();
+        if (mirror != null && !Objects.equals(mirrorId, id)) {
+            mirror.close();
+            mirror = null;
+        }
+        if (mirror == null) {
+            Path folder = getMirrorsFolder().resolve(id);
+            if (Files.exists(folder.resolve(".git"))) {
+                LOGGER.info("Open local mirror " + folder);
+                mirror = Git.open(folder.toFile());
+            } else {
+                LOGGER.info("Create local mirror " + folder);
+                Files.createDirectories(folder);
+                try {
+                    mirror = clone(folder.toString(), gitConfig.getUri(), gitConfig.getBranch(), cred);
+                } catch (RefNotFoundException | TransportException e) {
+                    LOGGER.error("New repository");
+                    vertx.fileSystem().deleteRecursiveBlocking(folder.toString(), true);
+                    Files.createDirectories(folder);
+                    mirror = init(folder.toString(), gitConfig.getUri(), gitConfig.getBranch());
+                }
+            }
+            mirrorId = id;
+        }
+        syncMirror(mirror, gitConfig.getBranch(), cred, forWrite);
+        return mirror;
+    }
+
+    private Path getMirrorsFolder() {
+        String path = ConfigProvider.getConfig().getOptionalValue("karavan.git-mirror-path", String.class)
+                .orElse(System.getProperty("java.io.tmpdir") + File.separator + "karavan-git-mirror");
+        return Paths.get(path);
+    }
+
+    // fetch only what changed since the last operation and drop any local leftovers,
+    // reads may fall back to the last fetched state but writes must not be based on a stale origin
+    private void syncMirror(Git git, String branch, CredentialsProvider cred, boolean forWrite) throws GitAPIException, IOException {
+        try {
+            fetch(git, cred);
+        } catch (InvalidRemoteException | TransportException e) {
+            LOGGER.error("Error fetching repository: " + e.getMessage());
+            if (forWrite) {
+                throw e;
+            }
+        }
+        if (git.getRepository().findRef(Constants.R_REMOTES + "origin/" + branch) != null) {
+            git.reset().setMode(ResetCommand.ResetType.HARD).setRef("origin/" + branch).call();
+        } else if (git.getRepository().resolve(Constants.HEAD) != null) {
+            git.reset().setMode(ResetCommand.ResetType.HARD).call();
+        }
+        git.clean().setCleanDirectories(true).setForce(true).call();
     }
 
     public GitConfig getGitConfig() {
@@ -137,87 +220,91 @@ public class GitService {
     }
 
     public RevCommit commitAndPushProject(Project project, List<ProjectFile> files, String message) throws GitAPIException, IOException, URISyntaxException {
-        LOGGER.info("Commit and push project " + project.getProjectId());
+        return commitAndPushProjects(Map.of(project, files), message);
+    }
+
+    public RevCommit commitAndPushProjects(Map<Project, List<ProjectFile>> projects, String message) throws GitAPIException, IOException, URISyntaxException {
+        LOGGER.info("Commit and push projects " + projects.keySet().stream().map(Project::getProjectId).toList());
         GitConfig gitConfig = getGitConfig();
-        CredentialsProvider cred = new UsernamePasswordCredentialsProvider(gitConfig.getUsername(), gitConfig.getPassword());
-        String uuid = UUID.randomUUID().toString();
-        String folder = vertx.fileSystem().createTempDirectoryBlocking(uuid);
-        LOGGER.info("Temp folder created " + folder);
-        Git git = null;
-        try {
-            git = clone(folder, gitConfig.getUri(), gitConfig.getBranch(), cred);
-            checkout(git, false, null, null, gitConfig.getBranch());
-        } catch (RefNotFoundException | TransportException e) {
-            LOGGER.error("New repository");
-            git = init(folder, gitConfig.getUri(), gitConfig.getBranch());
-        } catch (Exception e) {
-            LOGGER.error("Error", e);
+        CredentialsProvider cred = getCredentials(gitConfig);
+        synchronized (mirrorLock) {
+            Git git = getMirror(gitConfig, cred, true);
+            String folder = git.getRepository().getWorkTree().getAbsolutePath();
+            DirCache index = git.getRepository().readDirCache();
+            for (Map.Entry<Project, List<ProjectFile>> entry : projects.entrySet()) {
+                writeProjectToFolder(folder, index, entry.getKey(), entry.getValue());
+                addDeletedFilesToIndex(git, folder, entry.getKey(), entry.getValue());
+            }
+            return commitAddedAndPush(git, gitConfig.getBranch(), cred, message);
         }
-        writeProjectToFolder(folder, project, files);
-        addDeletedFilesToIndex(git, folder, project, files);
-        return commitAddedAndPush(git, gitConfig.getBranch(), cred, message);
     }
 
-    public List<GitRepo> readProjectsToImport() {
-        Git importGit = getGitForImport();
-        if (importGit != null) {
-            return readProjectsFromRepository(importGit, new String[0]);
+    public int readProjectsToImport(int parallelism, Consumer<GitRepo> consumer) {
+        synchronized (mirrorLock) {
+            Git importGit = getGitForImport();
+            if (importGit != null) {
+                return readProjectsFromRepository(importGit, parallelism, consumer, new String[0]);
+            }
+            return 0;
         }
-        return new ArrayList<>(0);
     }
 
     public GitRepo readProjectFromRepository(String projectId) throws GitAPIException, IOException, URISyntaxException {
-        Git git = getGit(true, vertx.fileSystem().createTempDirectoryBlocking(UUID.randomUUID().toString()));
-        return readProjectsFromRepository(git, projectId).get(0);
+        GitConfig gitConfig = getGitConfig();
+        synchronized (mirrorLock) {
+            Git git = getMirror(gitConfig, getCredentials(gitConfig), false);
+            List<GitRepo> repos = new ArrayList<>(1);
+            readProjectsFromRepository(git, 1, repos::add, projectId);
+            return repos.get(0);
+        }
     }
 
-    private List<GitRepo> readProjectsFromRepository(Git git, String... filter) {
+    // project folders are read by bounded workers and handed over one by one,
+    // so only a few projects are held in memory at a time
+    private int readProjectsFromRepository(Git git, int parallelism, Consumer<GitRepo> consumer, String... filter) {
         LOGGER.info("Read projects...");
-        List<GitRepo> result = new ArrayList<>();
         try {
             String folder = git.getRepository().getDirectory().getAbsolutePath().replace("/.git", "");
             List<String> projects = readProjectsFromFolder(folder, filter);
+            Map<String, List<String>> filenames = new HashMap<>();
+            Set<String> paths = new HashSet<>();
             for (String project : projects) {
-                Map<String, String> filesRead = readProjectFilesFromFolder(folder, project);
-                List<GitRepoFile> files = new ArrayList<>(filesRead.size());
-                for (Map.Entry<String, String> entry : filesRead.entrySet()) {
-                    String name = entry.getKey();
-                    String body = entry.getValue();
-                    Tuple2<String, Integer> fileCommit = lastCommit(git, project + File.separator + name);
-                    files.add(new GitRepoFile(name, Integer.valueOf(fileCommit.getItem2()).longValue() * 1000, body));
-                }
-                Tuple2<String, Integer> commit = lastCommit(git, project);
-                GitRepo repo = new GitRepo(project, commit.getItem1(), Integer.valueOf(commit.getItem2()).longValue() * 1000, files);
-                result.add(repo);
+                List<String> names = listProjectFilesInFolder(folder, project);
+                filenames.put(project, names);
+                paths.add(project);
+                names.forEach(name -> paths.add(project + "/" + name));
             }
-            return result;
-        } catch (RefNotFoundException e) {
-            LOGGER.error("New repository");
-            return result;
+            Map<String, Tuple2<String, Integer>> commits = lastCommits(git, paths);
+            Executor executor = parallelism > 1 ? getReadExecutor(parallelism) : Runnable::run;
+            List<CompletableFuture<Void>> tasks = projects.stream().map(project -> CompletableFuture.runAsync(() -> {
+                try {
+                    List<GitRepoFile> files = new ArrayList<>();
+                    readProjectFilesFromFolder(folder, project, filenames.get(project))
+                            .forEach((name, body) -> files.add(new GitRepoFile(name, getCommitTimestamp(commits.get(project + "/" + name)), body)));
+                    Tuple2<String, Integer> commit = commits.get(project);
+                    consumer.accept(new GitRepo(project, commit != null ? commit.getItem1() : null, getCommitTimestamp(commit), files));
+                } catch (Exception e) {
+                    LOGGER.error("Error during read of project " + project, e);
+                }
+            }, executor)).collect(Collectors.toList());
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+            return projects.size();
         } catch (Exception e) {
             LOGGER.error("Error", e);
-            return result;
+            return 0;
         }
     }
 
-    public Git getGit(boolean checkout, String folder) throws GitAPIException, IOException, URISyntaxException {
-        LOGGER.info("Git checkout");
-        GitConfig gitConfig = getGitConfig();
-        CredentialsProvider cred = new UsernamePasswordCredentialsProvider(gitConfig.getUsername(), gitConfig.getPassword());
-        LOGGER.info("Temp folder created " + folder);
-        Git git = null;
-        try {
-            git = clone(folder, gitConfig.getUri(), gitConfig.getBranch(), cred);
-            if (checkout) {
-                checkout(git, false, null, null, gitConfig.getBranch());
-            }
-        } catch (RefNotFoundException | TransportException e) {
-            LOGGER.error("New repository");
-            git = init(folder, gitConfig.getUri(), gitConfig.getBranch());
-        } catch (Exception e) {
-            LOGGER.error("Error", e);
+    // reads are serialized on the mirror lock, so one pool of daemon threads is reused by all of them
+    private synchronized Executor getReadExecutor(int parallelism) {
+        if (readExecutor == null) {
+            readExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "karavan-git-read");
+                thread.setDaemon(true);
+                return thread;
+            });
         }
-        return git;
+        return readExecutor;
     }
 
     private List<Tuple2<String, String>> readKameletsFromFolder(String folder) {
@@ -253,32 +340,48 @@ public class GitService {
         return files;
     }
 
-    private Map<String, String> readProjectFilesFromFolder(String repoFolder, String projectFolder) {
-        LOGGER.infof("Read files from %s/%s", repoFolder, projectFolder);
-        Map<String, String> files = new HashMap<>();
+    private List<String> listProjectFilesInFolder(String repoFolder, String projectFolder) {
+        List<String> files = new ArrayList<>();
         vertx.fileSystem().readDirBlocking(repoFolder + File.separator + projectFolder).forEach(f -> {
             String[] filenames = f.split(File.separator);
             String filename = filenames[filenames.length - 1];
-            Path path = Paths.get(f);
-            if (!filename.startsWith(".") && !Files.isDirectory(path)) {
-                LOGGER.info("Importing file " + filename);
-                try {
-                    files.put(filename, Files.readString(path));
-                } catch (IOException e) {
-                    LOGGER.error("Error during file read", e);
-                }
+            if (!filename.startsWith(".") && !Files.isDirectory(Paths.get(f))) {
+                files.add(filename);
+            }
+        });
+        return files;
+    }
+
+    private Map<String, String> readProjectFilesFromFolder(String repoFolder, String projectFolder, List<String> filenames) {
+        LOGGER.infof("Read files from %s/%s", repoFolder, projectFolder);
+        Map<String, String> files = new HashMap<>();
+        filenames.forEach(filename -> {
+            LOGGER.info("Importing file " + filename);
+            try {
+                files.put(filename, Files.readString(Paths.get(repoFolder, projectFolder, filename)));
+            } catch (IOException e) {
+                LOGGER.error("Error during file read", e);
             }
         });
         return files;
     }
 
-    private void writeProjectToFolder(String folder, Project project, List<ProjectFile> files) throws IOException {
+    // the mirror work tree matches its index after the sync, so a file whose blob id equals the index entry is unchanged
+    // and is not written, its timestamp stays the same and git add does not need to rehash it
+    private void writeProjectToFolder(String folder, DirCache index, Project project, List<ProjectFile> files) throws IOException {
         Files.createDirectories(Paths.get(folder, project.getProjectId()));
         LOGGER.info("Write files for project " + project.getProjectId());
+        ObjectInserter.Formatter formatter = new ObjectInserter.Formatter();
         files.forEach(file -> {
             try {
+                Path path = Paths.get(folder, project.getProjectId(), file.getName());
+                byte[] content = file.getCode().getBytes(StandardCharsets.UTF_8);
+                DirCacheEntry entry = index.getEntry(project.getProjectId() + "/" + file.getName());
+                if (entry != null && entry.getObjectId().equals(formatter.idFor(Constants.OBJ_BLOB, content)) && Files.exists(path)) {
+                    return;
+                }
                 LOGGER.info("Add file " + file.getName());
-                Files.writeString(Paths.get(folder, project.getProjectId(), file.getName()), file.getCode());
+                Files.write(path, content);
             } catch (IOException e) {
                 LOGGER.error("Error during file write", e);
             }
@@ -310,6 +413,14 @@ public class GitService {
         LOGGER.info("Git commit: " + commit);
         Iterable<PushResult> result = git.push().add(branch).setRemote("origin").setCredentialsProvider(cred).call();
         LOGGER.info("Git push: " + result);
+        for (PushResult pushResult : result) {
+            for (RemoteRefUpdate update : pushResult.getRemoteUpdates()) {
+                if (update.getStatus() != RemoteRefUpdate.Status.OK && update.getStatus() != RemoteRefUpdate.Status.UP_TO_DATE) {
+                    throw new RuntimeException("Git push of " + update.getRemoteName() + " failed: " + update.getStatus()
+                            + (update.getMessage() != null ? " " + update.getMessage() : ""));
+                }
+            }
+        }
         return commit;
     }
 
@@ -340,19 +451,15 @@ public class GitService {
     public void deleteProject(String projectId, List<ProjectFile> files) {
         LOGGER.info("Delete and push project " + projectId);
         GitConfig gitConfig = getGitConfig();
-        CredentialsProvider cred = new UsernamePasswordCredentialsProvider(gitConfig.getUsername(), gitConfig.getPassword());
-        String uuid = UUID.randomUUID().toString();
-        String folder = vertx.fileSystem().createTempDirectoryBlocking(uuid);
+        CredentialsProvider cred = getCredentials(gitConfig);
         String commitMessage = "Project " + projectId + " is deleted";
-        LOGGER.infof("Temp folder %s is created for deletion of project %s", folder, projectId);
-        Git git = null;
         try {
-            git = clone(folder, gitConfig.getUri(), gitConfig.getBranch(), cred);
-            checkout(git, false, null, null, gitConfig.getBranch());
-            addDeletedFolderToIndex(git, folder, projectId, files);
-            commitAddedAndPush(git, gitConfig.getBranch(), cred, commitMessage);
-            LOGGER.info("Delete Temp folder " + folder);
-            vertx.fileSystem().deleteRecursiveBlocking(folder, true);
+            synchronized (mirrorLock) {
+                Git git = getMirror(gitConfig, cred, true);
+                String folder = git.getRepository().getWorkTree().getAbsolutePath();
+                addDeletedFolderToIndex(git, folder, projectId, files);
+                commitAddedAndPush(git, gitConfig.getBranch(), cred, commitMessage);
+            }
             LOGGER.infof("Project %s deleted from Git", projectId);
         } catch (RefNotFoundException e) {
             LOGGER.error("Repository not found");
@@ -385,6 +492,7 @@ public class GitService {
     private void fetch(Git git, CredentialsProvider cred) throws GitAPIException {
         // fetch:
         FetchCommand fetchCommand = git.fetch();
+        fetchCommand.setRemote("origin");
         fetchCommand.setCredentialsProvider(cred);
         FetchResult result = fetchCommand.call();
     }
@@ -410,52 +518,211 @@ public class GitService {
         checkoutCommand.call();
     }
 
-    private Tuple2<String, Integer> lastCommit(Git git, String path) throws GitAPIException {
-        Iterable<RevCommit> log = git.log().addPath(path).setMaxCount(1).call();
-        for (RevCommit commit : log) {
-            return Tuple2.of(commit.getId().getName(), commit.getCommitTime());
+    // resolves the last commit of every path (file or folder) in one walk over the history,
+    // each path is followed through the first parent a merge kept it unchanged from, like git log -- <path>,
+    // so a side branch commit whose change the merge discarded is not reported
+    static Map<String, Tuple2<String, Integer>> lastCommits(Git git, Collection<String> paths) throws IOException {
+        Map<String, Tuple2<String, Integer>> result = new HashMap<>();
+        Repository repository = git.getRepository();
+        ObjectId head = repository.resolve(Constants.HEAD);
+        if (head == null || paths.isEmpty()) {
+            return result;
+        }
+        Set<String> pending = new HashSet<>(paths);
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            PriorityQueue<RevCommit> queue = new PriorityQueue<>(Comparator.comparingInt(RevCommit::getCommitTime).reversed());
+            // the paths every queued commit is checked for
+            Map<RevCommit, Set<String>> pathsByCommit = new HashMap<>();
+            RevCommit start = revWalk.parseCommit(head);
+            queue.add(start);
+            pathsByCommit.put(start, new HashSet<>(pending));
+            while (!queue.isEmpty() && !pending.isEmpty()) {
+                RevCommit commit = queue.poll();
+                Set<String> commitPaths = pathsByCommit.remove(commit);
+                commitPaths.retainAll(pending);
+                if (commitPaths.isEmpty()) {
+                    continue;
+                }
+                List<RevCommit> parents = new ArrayList<>(commit.getParentCount());
+                for (RevCommit parent : commit.getParents()) {
+                    parents.add(revWalk.parseCommit(parent));
+                }
+                Map<String, RevCommit> sameParents = new HashMap<>();
+                Set<String> touched = getTouchedPaths(repository, commit, parents, commitPaths, sameParents);
+                touched.forEach(path -> result.put(path, Tuple2.of(commit.getName(), commit.getCommitTime())));
+                pending.removeAll(touched);
+                sameParents.forEach((path, parent) -> pathsByCommit.computeIfAbsent(parent, key -> {
+                    queue.add(parent);
+                    return new HashSet<>();
+                }).add(path));
+            }
         }
-        return null;
+        LOGGER.infof("Last commits resolved for %d of %d paths", result.size(), paths.size());
+        return result;
     }
 
-    public Set<String> getChangedProjects(RevCommit commit) {
-        Set<String> files = new HashSet<>();
-        Git git = getGitForImport();
-        if (git != null) {
-            TreeWalk walk = new TreeWalk(git.getRepository());
+    // returns the paths that differ from every parent, or exist in a root commit,
+    // and puts every other path with the first parent it is unchanged in into sameParents
+    private static Set<String> getTouchedPaths(Repository repository, RevCommit commit, List<RevCommit> parents,
+                                               Set<String> paths, Map<String, RevCommit> sameParents) throws IOException {
+        Map<String, boolean[]> differs = new HashMap<>();
+        paths.forEach(path -> differs.put(path, new boolean[parents.size()]));
+        Set<String> present = new HashSet<>();
+        try (TreeWalk walk = new TreeWalk(repository)) {
             walk.setRecursive(true);
-            walk.setFilter(TreeFilter.ANY_DIFF);
-
-            ObjectId a = commit.getTree().getId();
-            RevCommit parent = commit.getParent(0);
-            ObjectId b = parent.getTree().getId();
-            try {
-                walk.reset(b, a);
-                List<DiffEntry> changes = DiffEntry.scan(walk);
-                changes.stream().forEach(de -> {
-                    String path = de.getNewPath();
-                    if (path != null) {
-                        String[] parts = path.split(File.separator);
-                        if (parts.length > 0) {
-                            files.add(parts[0]);
+            walk.addTree(commit.getTree());
+            for (RevCommit parent : parents) {
+                walk.addTree(parent.getTree());
+            }
+            TreeFilter filter = PathFilterGroup.createFromStrings(paths);
+            walk.setFilter(parents.isEmpty() ? filter : AndTreeFilter.create(filter, TreeFilter.ANY_DIFF));
+            while (walk.next()) {
+                String path = walk.getPathString();
+                for (int index = path.length(); index > 0; index = path.lastIndexOf('/', index - 1)) {
+                    String prefix = path.substring(0, index);
+                    boolean[] prefixDiffers = differs.get(prefix);
+                    if (prefixDiffers != null) {
+                        present.add(prefix);
+                        for (int i = 1; i < walk.getTreeCount(); i++) {
+                            if (!walk.idEqual(0, i)) {
+                                prefixDiffers[i - 1] = true;
+                            }
                         }
                     }
-                });
+                }
+            }
+        }
+        Set<String> touched = new HashSet<>();
+        differs.forEach((path, pathDiffers) -> {
+            int same = 0;
+            while (same < pathDiffers.length && pathDiffers[same]) {
+                same++;
+            }
+            if (same < pathDiffers.length) {
+                sameParents.put(path, parents.get(same));
+            } else if (!parents.isEmpty() || present.contains(path)) {
+                touched.add(path);
+            }
+        });
+        return touched;
+    }
+
+    private Long getCommitTimestamp(Tuple2<String, Integer> commit) {
+        return commit != null ? Integer.valueOf(commit.getItem2()).longValue() * 1000 : 0L;
+    }
+
+    public String getHeadCommitId() {
+        synchronized (mirrorLock) {
+            Git git = getGitForImport();
+            try {
+                ObjectId head = git != null ? git.getRepository().resolve(Constants.HEAD) : null;
+                return head != null ? head.getName() : null;
             } catch (IOException e) {
                 LOGGER.error("Error", e);
+                return null;
             }
         }
-        return files;
+    }
+
+    // returns null if the commit is unknown, e.g. after history was rewritten
+    public GitRepoChanges readChangesSince(String commitId) throws IOException, GitAPIException {
+        synchronized (mirrorLock) {
+            Git git = getGitForImport();
+            if (git == null) {
+                return null;
+            }
+            Repository repository = git.getRepository();
+            ObjectId head = repository.resolve(Constants.HEAD);
+            if (head == null) {
+                return null;
+            }
+            try (RevWalk revWalk = new RevWalk(repository)) {
+                RevCommit from = parseCommit(revWalk, commitId);
+                if (from == null) {
+                    return null;
+                }
+                RevCommit to = revWalk.parseCommit(head);
+                Map<String, Set<String>> updatedFiles = new HashMap<>();
+                Map<String, Set<String>> deletedFiles = new HashMap<>();
+                for (DiffEntry diff : getChangedPaths(repository, from, to)) {
+                    if (diff.getChangeType() == DiffEntry.ChangeType.DELETE || diff.getChangeType() == DiffEntry.ChangeType.RENAME) {
+                        addProjectFilePath(deletedFiles, diff.getOldPath());
+                    }
+                    if (diff.getChangeType() != DiffEntry.ChangeType.DELETE) {
+                        addProjectFilePath(updatedFiles, diff.getNewPath());
+                    }
+                }
+                String folder = repository.getWorkTree().getAbsolutePath();
+                Set<String> changedProjects = new HashSet<>(updatedFiles.keySet());
+                changedProjects.addAll(deletedFiles.keySet());
+                Set<String> deletedRepos = new HashSet<>();
+                Set<String> paths = new HashSet<>();
+                for (String project : changedProjects) {
+                    if (Files.isDirectory(Paths.get(folder, project))) {
+                        paths.add(project);
+                        updatedFiles.getOrDefault(project, Set.of()).forEach(name -> paths.add(project + "/" + name));
+                    } else {
+                        deletedRepos.add(project);
+                    }
+                }
+                Map<String, Tuple2<String, Integer>> commits = lastCommits(git, paths);
+                List<GitRepo> updatedRepos = new ArrayList<>();
+                for (String project : changedProjects) {
+                    if (deletedRepos.contains(project)) {
+                        continue;
+                    }
+                    List<GitRepoFile> files = new ArrayList<>();
+                    for (String name : updatedFiles.getOrDefault(project, Set.of())) {
+                        try {
+                            String body = Files.readString(Paths.get(folder, project, name));
+                            files.add(new GitRepoFile(name, getCommitTimestamp(commits.get(project + "/" + name)), body));
+                        } catch (IOException e) {
+                            LOGGER.error("Error during file read", e);
+                        }
+                    }
+                    Tuple2<String, Integer> commit = commits.get(project);
+                    updatedRepos.add(new GitRepo(project, commit != null ? commit.getItem1() : null, getCommitTimestamp(commit), files));
+                }
+                Map<String, List<String>> deleted = new HashMap<>();
+                deletedFiles.forEach((project, names) -> deleted.put(project, new ArrayList<>(names)));
+                LOGGER.infof("Changes since %s: %d projects updated, %d projects deleted", commitId, updatedRepos.size(), deletedRepos.size());
+                return new GitRepoChanges(head.getName(), updatedRepos, deleted, deletedRepos);
+            }
+        }
+    }
+
+    private RevCommit parseCommit(RevWalk revWalk, String commitId) throws IOException {
+        try {
+            return commitId != null ? revWalk.parseCommit(ObjectId.fromString(commitId)) : null;
+        } catch (MissingObjectException | IncorrectObjectTypeException | InvalidObjectIdException e) {
+            return null;
+        }
+    }
+
+    private List<DiffEntry> getChangedPaths(Repository repository, RevCommit from, RevCommit to) throws IOException {
+        try (TreeWalk walk = new TreeWalk(repository)) {
+            walk.setRecursive(true);
+            walk.setFilter(TreeFilter.ANY_DIFF);
+            walk.reset(from.getTree().getId(), to.getTree().getId());
+            return DiffEntry.scan(walk);
+        }
+    }
+
+    // only files directly inside a project folder are imported
+    private void addProjectFilePath(Map<String, Set<String>> files, String path) {
+        String[] parts = path.split("/");
+        if (parts.length == 2 && !parts[0].startsWith(".") && !parts[1].startsWith(".")) {
+            files.computeIfAbsent(parts[0], k -> new HashSet<>()).add(parts[1]);
+        }
     }
 
     @Retry(maxRetries = 100, delay = 2000)
     public boolean checkGit() throws Exception {
         LOGGER.info("Check git");
         GitConfig gitConfig = getGitConfig();
-        CredentialsProvider cred = new UsernamePasswordCredentialsProvider(gitConfig.getUsername(), gitConfig.getPassword());
-        String uuid = UUID.randomUUID().toString();
-        String folder = vertx.fileSystem().createTempDirectoryBlocking(uuid);
-        try (Git git = clone(folder, gitConfig.getUri(), gitConfig.getBranch(), cred)) {
+        CredentialsProvider cred = getCredentials(gitConfig);
+        try {
+            Git.lsRemoteRepository().setRemote(gitConfig.getUri()).setHeads(true).setCredentialsProvider(cred).call();
             LOGGER.info("Git is ready");
         } catch (Exception e) {
             LOGGER.info("Error connecting git: " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.git.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class GitRepoChanges {
+    private String commitId;
+    private List<GitRepo> updatedRepos;
+    private Map<String, List<String>> deletedFiles;
+    private Set<String> deletedRepos;
+
+    public GitRepoChanges(String commitId, List<GitRepo> updatedRepos, Map<String, List<String>> deletedFiles, Set<String> deletedRepos) {
+        this.commitId = commitId;
+        this.updatedRepos = updatedRepos;
+        this.deletedFiles = deletedFiles;
+        this.deletedRepos = deletedRepos;
+    }
+
+    public String getCommitId() {
+        return commitId;
+    }
+
+    public void setCommitId(String commitId) {
+        this.commitId = commitId;
+    }
+
+    public List<GitRepo> getUpdatedRepos() {
+        return updatedRepos;
+    }
+
+    public void setUpdatedRepos(List<GitRepo> updatedRepos) {
+        this.updatedRepos = updatedRepos;
+    }
+
+    public Map<String, List<String>> getDeletedFiles() {
+        return deletedFiles;
+    }
+
+    public void setDeletedFiles(Map<String, List<String>> deletedFiles) {
+        this.deletedFiles = deletedFiles;
+    }
+
+    public Set<String> getDeletedRepos() {
+        return deletedRepos;
+    }
+
+    public void setDeletedRepos(Set<String> deletedRepos) {
+        this.deletedRepos = deletedRepos;
+    }
+}
@@ -16,7 +16,9 @@
  */
 package org.apache.camel.karavan.infinispan;
 
+import io.vertx.core.eventbus.EventBus;
 import jakarta.enterprise.inject.Default;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.apache.camel.karavan.infinispan.model.*;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -29,6 +31,8 @@ import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.Search;
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.jmx.RemoteCacheClientStatisticsMXBean;
 import org.infinispan.commons.configuration.StringConfiguration;
 import org.infinispan.commons.marshall.ProtoStreamMarshaller;
 import org.infinispan.protostream.ProtobufUtil;
@@ -41,10 +45,7 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
@@ -62,18 +63,29 @@ public class InfinispanService implements HealthCheck {
     String infinispanUsername;
     @ConfigProperty(name = "karavan.infinispan.password")
     String infinispanPassword;
+    @ConfigProperty(name = "karavan.infinispan.near-cache.projects-size", defaultValue = "1000")
+    int projectsNearCacheSize;
+    @ConfigProperty(name = "karavan.infinispan.near-cache.files-size", defaultValue = "10000")
+    int filesNearCacheSize;
 
     private RemoteCache<GroupedKey, Project> projects;
     private RemoteCache<GroupedKey, ProjectFile> files;
     private RemoteCache<GroupedKey, DeploymentStatus> deploymentStatuses;
     private RemoteCache<GroupedKey, ContainerStatus> containerStatuses;
     private RemoteCache<GroupedKey, Boolean> transits;
+    private RemoteCache<GroupedKey, String> gitCommits;
     private RemoteCache<GroupedKey, ServiceStatus> serviceStatuses;
     private RemoteCache<GroupedKey, CamelStatus> camelStatuses;
+    private ProjectFileIndex projectFileIndex;
+    private ProjectCatalog projectCatalog;
+    private final Map<String, StatusCacheListener> statusListeners = new HashMap<>();
     private final AtomicBoolean ready = new AtomicBoolean(false);
 
     private RemoteCacheManager cacheManager;
 
+    @Inject
+    EventBus eventBus;
+
     private static final Logger LOGGER = Logger.getLogger(InfinispanService.class.getName());
 
     private static final String DEFAULT_ENVIRONMENT = "dev";
@@ -100,6 +112,9 @@ public class InfinispanService implements HealthCheck {
                 .password(infinispanPassword)
                 .clientIntelligence(ClientIntelligence.BASIC)
                 .marshaller(marshaller);
+        builder.statistics().enable();
+        configureNearCache(builder, Project.CACHE, projectsNearCacheSize);
+        configureNearCache(builder, ProjectFile.CACHE, filesNearCacheSize);
 
         cacheManager = new RemoteCacheManager(builder.build());
 
@@ -112,10 +127,18 @@ public class InfinispanService implements HealthCheck {
             serviceStatuses = getOrCreateCache(ServiceStatus.CACHE);
             camelStatuses = getOrCreateCache(CamelStatus.CACHE);
             transits = getOrCreateCache("transits");
+            gitCommits = getOrCreateCache("git_commits");
             deploymentStatuses = getOrCreateCache(DeploymentStatus.CACHE);
 
             cacheManager.getCache(PROTOBUF_METADATA_CACHE_NAME).put("karavan.proto", getResourceFile("/proto/karavan.proto"));
 
+            projectFileIndex = new ProjectFileIndex(files);
+            projectFileIndex.start();
+            projectCatalog = new ProjectCatalog(projects);
+            projectCatalog.start();
+            addStatusListener(containerStatuses, ContainerStatus.CACHE);
+            addStatusListener(deploymentStatuses, DeploymentStatus.CACHE);
+
             ready.set(true);
             LOGGER.info("InfinispanService is started in remote mode");
         } else {
@@ -123,6 +146,30 @@ public class InfinispanService implements HealthCheck {
         }
     }
 
+    private void addStatusListener(RemoteCache<GroupedKey, ?> cache, String cacheName) {
+        StatusCacheListener listener = new StatusCacheListener(cacheName, eventBus);
+        cache.addClientListener(listener);
+        statusListeners.put(cacheName, listener);
+    }
+
+    // clear does not notify client listeners about each removed entry
+    private void publishResync(String cacheName) {
+        StatusCacheListener listener = statusListeners.get(cacheName);
+        if (listener != null) {
+            listener.publish(StatusCacheListener.RESYNC, null);
+        }
+    }
+
+    // Invalidated near cache is kept coherent by Hot Rod client listeners registered on the cache
+    private void configureNearCache(ConfigurationBuilder builder, String cacheName, int maxEntries) {
+        if (maxEntries > 0) {
+            builder.remoteCache(cacheName)
+                    .nearCacheMode(NearCacheMode.INVALIDATED)
+                    .nearCacheMaxEntries(maxEntries);
+            LOGGER.info("Near cache enabled for " + cacheName + " with max entries " + maxEntries);
+        }
+    }
+
     private <K, V> RemoteCache<K, V> getOrCreateCache(String name) {
         String config = getResourceFile("/cache/data-cache-config.xml");
         return cacheManager.administration().getOrCreateCache(name, new StringConfiguration(String.format(config, name)));
@@ -136,59 +183,103 @@ public class InfinispanService implements HealthCheck {
         return projects.values().stream().collect(Collectors.toList());
     }
 
+    public String getLastImportedCommit() {
+        return gitCommits.get(GroupedKey.create("karavan", DEFAULT_ENVIRONMENT, "imported"));
+    }
+
+    public void saveLastImportedCommit(String commitId) {
+        gitCommits.put(GroupedKey.create("karavan", DEFAULT_ENVIRONMENT, "imported"), commitId);
+    }
+
+    public ProjectCatalog.Snapshot getProjectCatalog(String type) {
+        return projectCatalog.getSnapshot(type);
+    }
+
     public void saveProject(Project project) {
         GroupedKey key = GroupedKey.create(project.getProjectId(), DEFAULT_ENVIRONMENT, project.getProjectId());
         projects.put(key, project);
         projects.put(key, project);
+        projectCatalog.invalidate();
     }
 
     public List<ProjectFile> getProjectFiles(String projectId) {
-        QueryFactory queryFactory = Search.getQueryFactory(files);
-        return queryFactory.<ProjectFile>create("FROM karavan.ProjectFile WHERE projectId = :projectId")
-                .setParameter("projectId", projectId)
-                .execute().list();
+        return new ArrayList<>(getProjectFilesMap(projectId).values());
     }
 
     public Map<GroupedKey, ProjectFile> getProjectFilesMap(String projectId) {
-        QueryFactory queryFactory = Search.getQueryFactory(files);
-        return queryFactory.<ProjectFile>create("FROM karavan.ProjectFile WHERE projectId = :projectId")
-                .setParameter("projectId", projectId)
-                .execute().list().stream()
-                .collect(Collectors.toMap(f -> new GroupedKey(f.getProjectId(), DEFAULT_ENVIRONMENT, f.getName()), f -> f));
+        return getProjectFilesByKeys(projectFileIndex.getKeys(projectId));
     }
 
     public ProjectFile getProjectFile(String projectId, String filename) {
-        QueryFactory queryFactory = Search.getQueryFactory(files);
-        List<ProjectFile> list = queryFactory.<ProjectFile>create("FROM karavan.ProjectFile WHERE name = :name AND projectId = :projectId")
-                .setParameter("name", filename)
-                .setParameter("projectId", projectId)
-                .execute().list();
-        return !list.isEmpty() ? list.get(0) : null;
+        return files.get(GroupedKey.create(projectId, DEFAULT_ENVIRONMENT, filename));
     }
 
     public List<ProjectFile> getProjectFilesByName(String filename) {
-        QueryFactory queryFactory = Search.getQueryFactory(files);
-        return queryFactory.<ProjectFile>create("FROM karavan.ProjectFile WHERE name = :name")
-                .setParameter("name", filename)
-                .execute().list();
+        return new ArrayList<>(getProjectFilesByKeys(projectFileIndex.getKeysByName(filename)).values());
+    }
+
+    private Map<GroupedKey, ProjectFile> getProjectFilesByKeys(Set<GroupedKey> keys) {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<GroupedKey, ProjectFile> result = new HashMap<>(files.getAll(keys));
+        keys.stream().filter(key -> !result.containsKey(key)).forEach(projectFileIndex::remove);
+        return result;
     }
 
+    // with the near cache the previous hash is usually read locally, without it a get would add a round trip to every save
     public void saveProjectFile(ProjectFile file) {
-        files.put(GroupedKey.create(file.getProjectId(), DEFAULT_ENVIRONMENT, file.getName()), file);
+        GroupedKey key = GroupedKey.create(file.getProjectId(), DEFAULT_ENVIRONMENT, file.getName());
+        ProjectFile existing = filesNearCacheSize > 0 ? files.get(key) : null;
+        saveProjectFile(key, file, existing != null ? existing.getHash() : null);
+    }
+
+    // a caller that already read the file passes its previous hash, so an unchanged file costs no round trip
+    public void saveProjectFile(ProjectFile file, String previousHash) {
+        saveProjectFile(GroupedKey.create(file.getProjectId(), DEFAULT_ENVIRONMENT, file.getName()), file, previousHash);
+    }
+
+    private void saveProjectFile(GroupedKey key, ProjectFile file, String previousHash) {
+        if (previousHash == null || !Objects.equals(previousHash, file.getHash())) {
+            files.put(key, file);
+        }
+        projectFileIndex.add(key);
     }
 
     public void saveProjectFiles(Map<GroupedKey, ProjectFile> filesToSave) {
         long lastUpdate = Instant.now().toEpochMilli();
         filesToSave.forEach((groupedKey, projectFile) -> projectFile.setLastUpdate(lastUpdate));
         files.putAll(filesToSave);
+        filesToSave.keySet().forEach(projectFileIndex::add);
+    }
+
+    public CompletableFuture<Void> saveProjectAsync(Project project) {
+        GroupedKey key = GroupedKey.create(project.getProjectId(), DEFAULT_ENVIRONMENT, project.getProjectId());
+        return projects.putAsync(key, project).thenRun(projectCatalog::invalidate);
+    }
+
+    public CompletableFuture<Void> saveProjectFilesAsync(Collection<ProjectFile> filesToSave) {
+        Map<GroupedKey, ProjectFile> map = filesToSave.stream()
+                .collect(Collectors.toMap(f -> GroupedKey.create(f.getProjectId(), DEFAULT_ENVIRONMENT, f.getName()), f -> f));
+        return files.getAllAsync(map.keySet())
+                .thenCompose(existing -> {
+                    Map<GroupedKey, ProjectFile> changed = map.entrySet().stream()
+                            .filter(e -> !existing.containsKey(e.getKey()) || !Objects.equals(existing.get(e.getKey()).getHash(), e.getValue().getHash()))
+                            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                    return changed.isEmpty() ? CompletableFuture.<Void>completedFuture(null) : files.putAllAsync(changed);
+                })
+                .thenRun(() -> map.keySet().forEach(projectFileIndex::add));
     }
 
     public void deleteProject(String projectId) {
         projects.remove(GroupedKey.create(projectId, DEFAULT_ENVIRONMENT, projectId));
+        projectCatalog.invalidate();
     }
 
     public void deleteProjectFile(String projectId, String filename) {
-        files.remove(GroupedKey.create(projectId, DEFAULT_ENVIRONMENT, filename));
+        GroupedKey key = GroupedKey.create(projectId, DEFAULT_ENVIRONMENT, filename);
+        files.remove(key);
+        projectFileIndex.remove(key);
     }
 
     public Project getProject(String projectId) {
@@ -199,6 +290,10 @@ public class InfinispanService implements HealthCheck {
         return deploymentStatuses.get(GroupedKey.create(projectId, environment, projectId));
     }
 
+    public DeploymentStatus getDeploymentStatus(GroupedKey key) {
+        return deploymentStatuses.get(key);
+    }
+
     public void saveDeploymentStatus(DeploymentStatus status) {
         deploymentStatuses.put(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getProjectId()), status);
     }
@@ -219,7 +314,7 @@ public class InfinispanService implements HealthCheck {
     }
 
     public void deleteAllDeploymentsStatuses() {
-        deploymentStatuses.clearAsync();
+        deploymentStatuses.clearAsync().thenRun(() -> publishResync(DeploymentStatus.CACHE));
     }
 
     public void saveServiceStatus(ServiceStatus status) {
@@ -290,7 +385,7 @@ public class InfinispanService implements HealthCheck {
     }
 
     public void deleteAllContainersStatuses() {
-        containerStatuses.clearAsync();
+        containerStatuses.clearAsync().thenRun(() -> publishResync(ContainerStatus.CACHE));
     }
 
     public void deleteContainerStatus(String projectId, String env, String containerName) {
@@ -330,6 +425,12 @@ public class InfinispanService implements HealthCheck {
         camelStatuses.put(key, status);
     }
 
+    public void saveCamelStatuses(List<CamelStatus> statuses) {
+        Map<GroupedKey, CamelStatus> map = statuses.stream()
+                .collect(Collectors.toMap(s -> GroupedKey.create(s.getProjectId(), s.getEnv(), s.getContainerName()), s -> s, (s1, s2) -> s2));
+        camelStatuses.putAll(map);
+    }
+
     public void deleteCamelStatus(String projectId, String name, String env) {
         GroupedKey key = GroupedKey.create(projectId, env, name);
         camelStatuses.remove(key);
@@ -348,7 +449,7 @@ public class InfinispanService implements HealthCheck {
     }
 
     public void deleteAllCamelStatuses() {
-        camelStatuses.clearAsync();
+        camelStatuses.clearAsync().thenRun(() -> publishResync(CamelStatus.CACHE));
     }
 
     public List<ContainerStatus> getLoadedDevModeStatuses() {
@@ -378,6 +479,28 @@ public class InfinispanService implements HealthCheck {
                 containerStatuses.clearAsync(),
                 camelStatuses.clearAsync()
         ).join();
+        publishResync(DeploymentStatus.CACHE);
+        publishResync(ContainerStatus.CACHE);
+        publishResync(CamelStatus.CACHE);
+    }
+
+    public Map<String, Map<String, Long>> getNearCacheStatistics() {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        result.put(Project.CACHE, getNearCacheStatistics(projects));
+        result.put(ProjectFile.CACHE, getNearCacheStatistics(files));
+        return result;
+    }
+
+    private Map<String, Long> getNearCacheStatistics(RemoteCache<?, ?> cache) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        RemoteCacheClientStatisticsMXBean stats = cache.clientStatistics();
+        result.put("hits", stats.getNearCacheHits());
+        result.put("misses", stats.getNearCacheMisses());
+        result.put("invalidations", stats.getNearCacheInvalidations());
+        result.put("size", stats.getNearCacheSize());
+        result.put("remoteHits", stats.getRemoteHits());
+        result.put("remoteMisses", stats.getRemoteMisses());
+        return result;
     }
 
     private String getResourceFile(String path) {
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.infinispan;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.camel.karavan.infinispan.model.GroupedKey;
+import org.apache.camel.karavan.infinispan.model.Project;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.annotation.*;
+import org.infinispan.client.hotrod.event.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ClientListener
+public class ProjectCatalog {
+
+    private static final String ALL_TYPES = "";
+
+    private final RemoteCache<GroupedKey, Project> projects;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public ProjectCatalog(RemoteCache<GroupedKey, Project> projects) {
+        this.projects = projects;
+    }
+
+    public void start() {
+        projects.addClientListener(this);
+    }
+
+    public void stop() {
+        projects.removeClientListener(this);
+    }
+
+    public Snapshot getSnapshot(String type) {
+        String key = type != null ? type : ALL_TYPES;
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            long current = version.get();
+            snapshot = createSnapshot(type);
+            snapshots.put(key, snapshot);
+            if (version.get() != current) {
+                // invalidated while reading the cache, do not keep a stale snapshot
+                snapshots.remove(key, snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshots.clear();
+    }
+
+    private Snapshot createSnapshot(String type) {
+        List<Project> list = projects.values().stream()
+                .filter(p -> type == null || Objects.equals(p.getType().name(), type))
+                .sorted(Comparator.comparing(Project::getProjectId))
+                .toList();
+        JsonArray array = new JsonArray();
+        list.forEach(p -> array.add(JsonObject.mapFrom(p)));
+        String json = array.encode();
+        return new Snapshot(list, json, sha256(json));
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @ClientCacheEntryCreated
+    public void entryCreated(ClientCacheEntryCreatedEvent<GroupedKey> event) {
+        invalidate();
+    }
+
+    @ClientCacheEntryModified
+    public void entryModified(ClientCacheEntryModifiedEvent<GroupedKey> event) {
+        invalidate();
+    }
+
+    @ClientCacheEntryRemoved
+    public void entryRemoved(ClientCacheEntryRemovedEvent<GroupedKey> event) {
+        invalidate();
+    }
+
+    @ClientCacheEntryExpired
+    public void entryExpired(ClientCacheEntryExpiredEvent<GroupedKey> event) {
+        invalidate();
+    }
+
+    @ClientCacheFailover
+    public void failover(ClientCacheFailoverEvent event) {
+        invalidate();
+    }
+
+    public static class Snapshot {
+        private final List<Project> projects;
+        private final String json;
+        private final String etag;
+
+        public Snapshot(List<Project> projects, String json, String etag) {
+            this.projects = projects;
+            this.json = json;
+            this.etag = etag;
+        }
+
+        public List<Project> getProjects() {
+            return projects;
+        }
+
+        public String getJson() {
+            return json;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.infinispan;
+
+import org.apache.camel.karavan.infinispan.model.GroupedKey;
+import org.apache.camel.karavan.infinispan.model.ProjectFile;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.annotation.*;
+import org.infinispan.client.hotrod.event.ClientCacheEntryCreatedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryExpiredEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryRemovedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheFailoverEvent;
+import org.infinispan.commons.util.CloseableIterator;
+import org.jboss.logging.Logger;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@ClientListener
+public class ProjectFileIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(ProjectFileIndex.class.getName());
+
+    private final RemoteCache<GroupedKey, ProjectFile> files;
+    private final Map<String, Set<GroupedKey>> keysByProject = new HashMap<>();
+    private final Map<String, Set<GroupedKey>> keysByName = new HashMap<>();
+    private final Object rebuildLock = new Object();
+    // keys created (true) or removed (false) while a rebuild scans the cache, they win over the scan
+    private Map<GroupedKey, Boolean> changedDuringRebuild;
+
+    public ProjectFileIndex(RemoteCache<GroupedKey, ProjectFile> files) {
+        this.files = files;
+    }
+
+    public void start() {
+        // the listener is registered before the scan, so a file created in between is not missed
+        files.addClientListener(this);
+        rebuild();
+    }
+
+    public void stop() {
+        files.removeClientListener(this);
+    }
+
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            LOGGER.info("Rebuild project files index");
+            synchronized (this) {
+                changedDuringRebuild = new HashMap<>();
+            }
+            Set<GroupedKey> keys = new HashSet<>();
+            try (CloseableIterator<GroupedKey> iterator = files.keySet().iterator()) {
+                iterator.forEachRemaining(keys::add);
+            } finally {
+                synchronized (this) {
+                    changedDuringRebuild.forEach((key, present) -> {
+                        if (present) {
+                            keys.add(key);
+                        } else {
+                            keys.remove(key);
+                        }
+                    });
+                    changedDuringRebuild = null;
+                    keysByProject.clear();
+                    keysByName.clear();
+                    keys.forEach(this::index);
+                }
+            }
+        }
+    }
+
+    public synchronized void add(GroupedKey key) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(key, true);
+        }
+        index(key);
+    }
+
+    public synchronized void remove(GroupedKey key) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(key, false);
+        }
+        unindex(keysByProject, key.getProjectId(), key);
+        unindex(keysByName, key.getKey(), key);
+    }
+
+    public synchronized Set<GroupedKey> getKeys(String projectId) {
+        Set<GroupedKey> keys = keysByProject.get(projectId);
+        return keys != null ? Set.copyOf(keys) : Set.of();
+    }
+
+    public synchronized Set<GroupedKey> getKeysByName(String filename) {
+        Set<GroupedKey> keys = keysByName.get(filename);
+        return keys != null ? Set.copyOf(keys) : Set.of();
+    }
+
+    private void index(GroupedKey key) {
+        keysByProject.computeIfAbsent(key.getProjectId(), id -> new HashSet<>()).add(key);
+        keysByName.computeIfAbsent(key.getKey(), name -> new HashSet<>()).add(key);
+    }
+
+    private static void unindex(Map<String, Set<GroupedKey>> index, String indexKey, GroupedKey key) {
+        index.computeIfPresent(indexKey, (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    @ClientCacheEntryCreated
+    public void entryCreated(ClientCacheEntryCreatedEvent<GroupedKey> event) {
+        add(event.getKey());
+    }
+
+    @ClientCacheEntryRemoved
+    public void entryRemoved(ClientCacheEntryRemovedEvent<GroupedKey> event) {
+        remove(event.getKey());
+    }
+
+    @ClientCacheEntryExpired
+    public void entryExpired(ClientCacheEntryExpiredEvent<GroupedKey> event) {
+        remove(event.getKey());
+    }
+
+    @ClientCacheFailover
+    public void failover(ClientCacheFailoverEvent event) {
+        rebuild();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.infinispan;
+
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
+import org.apache.camel.karavan.infinispan.model.GroupedKey;
+import org.infinispan.client.hotrod.annotation.*;
+import org.infinispan.client.hotrod.event.*;
+
+@ClientListener
+public class StatusCacheListener {
+
+    public static final String STATUS_CHANGED = "STATUS_CHANGED";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String RESYNC = "resync";
+
+    private final String cacheName;
+    private final EventBus eventBus;
+
+    public StatusCacheListener(String cacheName, EventBus eventBus) {
+        this.cacheName = cacheName;
+        this.eventBus = eventBus;
+    }
+
+    @ClientCacheEntryCreated
+    public void entryCreated(ClientCacheEntryCreatedEvent<GroupedKey> event) {
+        publish(UPDATED, event.getKey());
+    }
+
+    @ClientCacheEntryModified
+    public void entryModified(ClientCacheEntryModifiedEvent<GroupedKey> event) {
+        publish(UPDATED, event.getKey());
+    }
+
+    @ClientCacheEntryRemoved
+    public void entryRemoved(ClientCacheEntryRemovedEvent<GroupedKey> event) {
+        publish(DELETED, event.getKey());
+    }
+
+    @ClientCacheEntryExpired
+    public void entryExpired(ClientCacheEntryExpiredEvent<GroupedKey> event) {
+        publish(DELETED, event.getKey());
+    }
+
+    @ClientCacheFailover
+    public void failover(ClientCacheFailoverEvent event) {
+        publish(RESYNC, null);
+    }
+
+    public void publish(String action, GroupedKey key) {
+        JsonObject change = new JsonObject().put("cache", cacheName).put("action", action);
+        if (key != null) {
+            change.put("key", JsonObject.mapFrom(key));
+        }
+        eventBus.publish(STATUS_CHANGED, change);
+    }
+}
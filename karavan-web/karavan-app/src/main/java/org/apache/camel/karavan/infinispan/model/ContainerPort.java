@@ -20,6 +20,8 @@ package org.apache.camel.karavan.infinispan.model;
 import org.infinispan.protostream.annotations.ProtoFactory;
 import org.infinispan.protostream.annotations.ProtoField;
 
+import java.util.Objects;
+
 public class ContainerPort {
 
     @ProtoField(number = 1)
@@ -59,4 +61,21 @@ public class ContainerPort {
     public void setType(String type) {
         this.type = type;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ContainerPort that = (ContainerPort) o;
+
+        if (!Objects.equals(privatePort, that.privatePort)) return false;
+        if (!Objects.equals(publicPort, that.publicPort)) return false;
+        return Objects.equals(type, that.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(privatePort, publicPort, type);
+    }
+}
@@ -21,6 +21,11 @@ import org.infinispan.protostream.annotations.ProtoDoc;
 import org.infinispan.protostream.annotations.ProtoFactory;
 import org.infinispan.protostream.annotations.ProtoField;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
 public class ProjectFile {
     public static final String CACHE = "project_files";
     @ProtoField(number = 1)
@@ -32,13 +37,20 @@ public class ProjectFile {
     String projectId;
     @ProtoField(number = 4)
     Long lastUpdate;
+    @ProtoField(number = 5)
+    String hash;
 
     @ProtoFactory
-    public ProjectFile(String name, String code, String projectId, Long lastUpdate) {
+    public ProjectFile(String name, String code, String projectId, Long lastUpdate, String hash) {
         this.name = name;
         this.code = code;
         this.projectId = projectId;
         this.lastUpdate = lastUpdate;
+        this.hash = hash != null ? hash : hash(code);
+    }
+
+    public ProjectFile(String name, String code, String projectId, Long lastUpdate) {
+        this(name, code, projectId, lastUpdate, null);
     }
 
     public ProjectFile() {
@@ -58,6 +70,7 @@ public class ProjectFile {
 
     public void setCode(String code) {
         this.code = code;
+        this.hash = hash(code);
     }
 
     public String getProjectId() {
@@ -76,6 +89,22 @@ public class ProjectFile {
         this.lastUpdate = lastUpdate;
     }
 
+    public String getHash() {
+        return hash;
+    }
+
+    public static String hash(String code) {
+        if (code == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(code.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public String toString() {
         return "ProjectFile{" +
@@ -83,6 +112,7 @@ public class ProjectFile {
                 ", code='" + code + '\'' +
                 ", projectId='" + projectId + '\'' +
                 ", lastUpdate=" + lastUpdate +
+                ", hash='" + hash + '\'' +
                 '}';
     }
 }
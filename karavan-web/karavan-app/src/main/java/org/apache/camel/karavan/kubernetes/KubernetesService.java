@@ -20,7 +20,9 @@ import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.dsl.ExecWatch;
 import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.fabric8.kubernetes.client.dsl.PodResource;
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import io.fabric8.openshift.api.model.ImageStream;
 import io.fabric8.openshift.client.OpenShiftClient;
@@ -36,15 +38,18 @@ import org.apache.camel.karavan.infinispan.InfinispanService;
 import org.apache.camel.karavan.infinispan.model.ContainerStatus;
 import org.apache.camel.karavan.infinispan.model.Project;
 import org.apache.camel.karavan.service.ConfigService;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.health.HealthCheck;
 import org.eclipse.microprofile.health.HealthCheckResponse;
 import org.eclipse.microprofile.health.Readiness;
 import org.jboss.logging.Logger;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.apache.camel.karavan.shared.Constants.*;
@@ -56,6 +61,7 @@ public class KubernetesService implements HealthCheck {
 
     private static final Logger LOGGER = Logger.getLogger(KubernetesService.class.getName());
     protected static final int INFORMERS = 3;
+    private static final int COPY_TIMEOUT_SECONDS = 30;
 
     @Inject
     EventBus eventBus;
@@ -90,6 +96,9 @@ public class KubernetesService implements HealthCheck {
     @ConfigProperty(name = "karavan.devmode.create-pvc")
     public Boolean devmodePVC;
 
+    @ConfigProperty(name = "karavan.devmode.files.compress", defaultValue = "true")
+    boolean compressFiles;
+
     @ConfigProperty(name = "karavan.builder.service.account")
     public String builderServiceAccount;
 
@@ -323,6 +332,19 @@ public class KubernetesService implements HealthCheck {
         return Tuple2.of(logWatch, client);
     }
 
+    public Tuple2<LogWatch, KubernetesClient> getPodLogWatch(String podName, Duration startTimeout) {
+        KubernetesClient client = kubernetesClient();
+        try {
+            PodResource pod = client.pods().inNamespace(getNamespace()).withName(podName);
+            pod.waitUntilCondition(p -> p != null && p.getStatus() != null && !"Pending".equals(p.getStatus().getPhase()),
+                    startTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return Tuple2.of(pod.watchLog(), client);
+        } catch (Exception e) {
+            client.close();
+            throw e;
+        }
+    }
+
     public void rolloutDeployment(String name, String namespace) {
         try (KubernetesClient client = kubernetesClient()) {
             client.apps().deployments().inNamespace(namespace).withName(name).rolling().restart();
@@ -433,11 +455,21 @@ public class KubernetesService implements HealthCheck {
 
     private void copyFilesToContainer(Pod pod, Map<String, String> files, String dirName) {
         try (KubernetesClient client = kubernetesClient()) {
-            String temp = codeService.saveProjectFilesInTemp(files);
-            client.pods().inNamespace(getNamespace())
+            byte[] archive = codeService.getFilesArchive(files, TarArchiveEntry.DEFAULT_FILE_MODE, compressFiles);
+            String command = "mkdir -p '" + dirName + "' && tar -x" + (compressFiles ? "z" : "") + "mf - -C '" + dirName + "'";
+            try (ExecWatch watch = client.pods().inNamespace(getNamespace())
                     .withName(pod.getMetadata().getName())
-                    .dir(dirName)
-                    .upload(Paths.get(temp));
+                    .redirectingInput()
+                    .exec("sh", "-c", command)) {
+                OutputStream input = watch.getInput();
+                input.write(archive);
+                input.flush();
+                input.close();
+                Integer exitCode = watch.exitCode().get(COPY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (exitCode == null || exitCode != 0) {
+                    LOGGER.info("Error copying files to devmode pod: tar exited with " + exitCode);
+                }
+            }
         } catch (Exception e) {
             LOGGER.info("Error copying filed to devmode pod: " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
         }
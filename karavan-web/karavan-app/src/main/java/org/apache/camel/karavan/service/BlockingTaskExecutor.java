@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ApplicationScoped
+public class BlockingTaskExecutor implements Executor {
+
+    private static final Logger LOGGER = Logger.getLogger(BlockingTaskExecutor.class.getName());
+
+    @ConfigProperty(name = "karavan.blocking.executor.max-threads", defaultValue = "200")
+    int maxThreads;
+    @ConfigProperty(name = "karavan.blocking.executor.keep-alive", defaultValue = "60s")
+    Duration keepAlive;
+    @ConfigProperty(name = "karavan.blocking.executor.stack-size", defaultValue = "262144")
+    long stackSize;
+
+    private ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        // threads mostly wait on sockets, so a small stack is enough
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(null, runnable, "karavan-blocking-" + counter.incrementAndGet(), stackSize);
+            thread.setDaemon(true);
+            return thread;
+        };
+        // tasks like log follows run for a long time, so a task is never queued behind them,
+        // it gets a thread or is rejected right away
+        executor = new ThreadPoolExecutor(maxThreads, maxThreads, keepAlive.toMillis(), TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        try {
+            executor.execute(command);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            LOGGER.error("Blocking task rejected: " + getStats());
+            throw e;
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        return Map.of(
+                "active", (long) executor.getActiveCount(),
+                "threads", (long) executor.getPoolSize(),
+                "completed", executor.getCompletedTaskCount(),
+                "rejected", rejected.get()
+        );
+    }
+
+    @Scheduled(every = "{karavan.blocking.executor.stats.interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void logStats() {
+        if (executor.getActiveCount() > 0) {
+            LOGGER.info("Blocking tasks " + getStats());
+        }
+    }
+}
@@ -0,0 +1,447 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.smallrye.mutiny.tuples.Tuple2;
+import io.vertx.core.json.JsonObject;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.karavan.docker.DockerService;
+import org.apache.camel.karavan.docker.LogCallback;
+import org.apache.camel.karavan.kubernetes.KubernetesService;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.apache.camel.karavan.shared.Constants.BUILDER_SUFFIX;
+
+@ApplicationScoped
+public class BuildLogService {
+
+    private static final Logger LOGGER = Logger.getLogger(BuildLogService.class.getName());
+    private static final String INDEX_FILENAME = "index.json";
+
+    @ConfigProperty(name = "karavan.build.log.path")
+    Optional<String> logPath;
+    @ConfigProperty(name = "karavan.build.log.segment-lines", defaultValue = "10000")
+    int segmentLines;
+    @ConfigProperty(name = "karavan.build.log.retention", defaultValue = "10")
+    int retention;
+    @ConfigProperty(name = "karavan.build.log.start-timeout", defaultValue = "10m")
+    Duration startTimeout;
+
+    @Inject
+    KubernetesService kubernetesService;
+
+    @Inject
+    DockerService dockerService;
+
+    @Inject
+    BlockingTaskExecutor blockingTaskExecutor;
+
+    private final Map<Path, BuildLog> activeLogs = new ConcurrentHashMap<>();
+
+    public void archiveBuildLog(String projectId, String tag) {
+        String containerName = projectId + BUILDER_SUFFIX;
+        BuildLog buildLog = null;
+        try {
+            buildLog = startBuildLog(projectId, tag);
+            if (ConfigService.inKubernetes()) {
+                BuildLog kubernetesLog = buildLog;
+                blockingTaskExecutor.execute(() -> {
+                    try {
+                        readKubernetesLog(containerName, kubernetesLog);
+                    } finally {
+                        finishBuildLog(kubernetesLog);
+                    }
+                });
+            } else {
+                BuildLog dockerLog = buildLog;
+                LogCallback logCallback = new LogCallback(dockerLog::append, () -> finishBuildLog(dockerLog));
+                if (!dockerService.followContainerLog(containerName, -1, logCallback)) {
+                    finishBuildLog(dockerLog);
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error archiving build log for " + projectId + ": " + e.getMessage());
+            if (buildLog != null) {
+                finishBuildLog(buildLog);
+            }
+        }
+    }
+
+    public List<String> getArchivedTags(String projectId) {
+        Path projectDir = getProjectDir(projectId);
+        if (projectDir == null || !Files.isDirectory(projectDir)) {
+            return List.of();
+        }
+        try (Stream<Path> dirs = Files.list(projectDir)) {
+            return dirs.filter(dir -> Files.exists(dir.resolve(INDEX_FILENAME)))
+                    .sorted(Comparator.comparing(this::lastModified).reversed())
+                    .map(dir -> dir.getFileName().toString())
+                    .toList();
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage());
+            return List.of();
+        }
+    }
+
+    public JsonObject readLines(String projectId, String tag, long from, int count) throws IOException {
+        BuildLog buildLog = getBuildLog(projectId, tag);
+        if (buildLog == null) {
+            return null;
+        }
+        BuildLog.Snapshot snapshot = buildLog.snapshot();
+        return snapshot.toJson()
+                .put("from", from)
+                .put("lines", snapshot.read(from, count));
+    }
+
+    public JsonObject search(String projectId, String tag, String text, int limit) throws IOException {
+        BuildLog buildLog = getBuildLog(projectId, tag);
+        if (buildLog == null) {
+            return null;
+        }
+        BuildLog.Snapshot snapshot = buildLog.snapshot();
+        return snapshot.toJson()
+                .put("text", text)
+                .put("matches", snapshot.search(text, limit));
+    }
+
+    private BuildLog startBuildLog(String projectId, String tag) throws IOException {
+        Path dir = getBuildDir(projectId, tag);
+        if (dir == null) {
+            throw new IllegalArgumentException("Invalid build log name " + projectId + "/" + tag);
+        }
+        BuildLog previous = activeLogs.remove(dir);
+        if (previous != null) {
+            previous.finish();
+        }
+        if (Files.exists(dir)) {
+            FileUtils.deleteDirectory(dir.toFile());
+        }
+        removeOldBuildLogs(dir.getParent());
+        Files.createDirectories(dir);
+        BuildLog buildLog = new BuildLog(dir, segmentLines);
+        buildLog.writeIndex();
+        activeLogs.put(dir, buildLog);
+        return buildLog;
+    }
+
+    private void finishBuildLog(BuildLog buildLog) {
+        try {
+            buildLog.finish();
+        } catch (IOException e) {
+            LOGGER.error("Error finishing build log " + buildLog.getDir() + ": " + e.getMessage());
+        } finally {
+            activeLogs.remove(buildLog.getDir(), buildLog);
+        }
+    }
+
+    private void readKubernetesLog(String podName, BuildLog buildLog) {
+        try {
+            readKubernetesLog(kubernetesService.getPodLogWatch(podName, startTimeout), buildLog);
+        } catch (Exception e) {
+            LOGGER.error("Error reading build log of " + podName + ": " + e.getMessage());
+        }
+    }
+
+    private void readKubernetesLog(Tuple2<LogWatch, KubernetesClient> request, BuildLog buildLog) throws IOException {
+        try (LogWatch logWatch = request.getItem1();
+             KubernetesClient client = request.getItem2();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(logWatch.getOutput(), StandardCharsets.UTF_8))) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                buildLog.addLine(line);
+            }
+        }
+    }
+
+    private BuildLog getBuildLog(String projectId, String tag) throws IOException {
+        Path dir = getBuildDir(projectId, tag);
+        if (dir == null) {
+            return null;
+        }
+        BuildLog active = activeLogs.get(dir);
+        if (active != null) {
+            return active;
+        }
+        return Files.exists(dir.resolve(INDEX_FILENAME)) ? BuildLog.load(dir) : null;
+    }
+
+    private void removeOldBuildLogs(Path projectDir) throws IOException {
+        if (!Files.isDirectory(projectDir)) {
+            return;
+        }
+        List<Path> dirs;
+        try (Stream<Path> list = Files.list(projectDir)) {
+            dirs = list.filter(Files::isDirectory)
+                    .filter(dir -> !activeLogs.containsKey(dir))
+                    .sorted(Comparator.comparing(this::lastModified).reversed())
+                    .toList();
+        }
+        // the log being started takes one place of the retention
+        for (int i = Math.max(retention - 1, 0); i < dirs.size(); i++) {
+            FileUtils.deleteDirectory(dirs.get(i).toFile());
+        }
+    }
+
+    private long lastModified(Path path) {
+        return path.toFile().lastModified();
+    }
+
+    private Path getBaseDir() {
+        return logPath.filter(s -> !s.isBlank())
+                .map(Paths::get)
+                .orElseGet(() -> Paths.get(System.getProperty("java.io.tmpdir"), "karavan-build-logs"))
+                .toAbsolutePath().normalize();
+    }
+
+    private Path getProjectDir(String projectId) {
+        Path base = getBaseDir();
+        Path dir = base.resolve(projectId).normalize();
+        return dir.getParent() != null && dir.getParent().equals(base) ? dir : null;
+    }
+
+    private Path getBuildDir(String projectId, String tag) {
+        Path projectDir = getProjectDir(projectId);
+        if (projectDir == null) {
+            return null;
+        }
+        Path dir = projectDir.resolve(tag).normalize();
+        return dir.getParent() != null && dir.getParent().equals(projectDir) ? dir : null;
+    }
+
+    // lines are kept in gzip segments of a fixed number of lines, so a line number maps directly to its segment
+    static class BuildLog {
+
+        private final Path dir;
+        private final int segmentLines;
+        private final StringBuilder partial = new StringBuilder();
+        private final List<String> current = new ArrayList<>();
+        private int segments;
+        private long lines;
+        private boolean complete;
+        private boolean broken;
+
+        BuildLog(Path dir, int segmentLines) {
+            this.dir = dir;
+            this.segmentLines = segmentLines;
+        }
+
+        static BuildLog load(Path dir) throws IOException {
+            JsonObject index = new JsonObject(Files.readString(dir.resolve(INDEX_FILENAME)));
+            BuildLog buildLog = new BuildLog(dir, index.getInteger("segmentLines"));
+            buildLog.segments = index.getInteger("segments");
+            buildLog.lines = index.getLong("total");
+            buildLog.complete = index.getBoolean("complete");
+            buildLog.broken = index.getBoolean("broken", false);
+            return buildLog;
+        }
+
+        Path getDir() {
+            return dir;
+        }
+
+        // docker frames may hold several lines or a part of one
+        synchronized void append(String chunk) {
+            if (complete) {
+                return;
+            }
+            int start = 0;
+            for (int end = chunk.indexOf('\n'); end >= 0; end = chunk.indexOf('\n', start)) {
+                partial.append(chunk, start, end);
+                addLine(partial.toString());
+                partial.setLength(0);
+                start = end + 1;
+            }
+            partial.append(chunk, start, chunk.length());
+        }
+
+        synchronized void addLine(String line) {
+            if (complete) {
+                return;
+            }
+            current.add(line);
+            lines++;
+            if (current.size() >= segmentLines) {
+                try {
+                    writeSegment();
+                } catch (IOException e) {
+                    LOGGER.error("Error writing build log segment " + dir + ": " + e.getMessage());
+                    markBroken();
+                }
+            }
+        }
+
+        // a segment that could not be written is dropped and the archive ends before it,
+        // so line numbers keep mapping to segments and memory does not grow with the build
+        private void markBroken() {
+            lines -= current.size();
+            current.clear();
+            partial.setLength(0);
+            broken = true;
+            complete = true;
+            try {
+                writeIndex();
+            } catch (IOException e) {
+                LOGGER.error("Error writing build log index " + dir + ": " + e.getMessage());
+            }
+        }
+
+        synchronized void finish() throws IOException {
+            if (complete) {
+                return;
+            }
+            if (!partial.isEmpty()) {
+                addLine(partial.toString());
+                partial.setLength(0);
+            }
+            if (complete) {
+                return;
+            }
+            if (!current.isEmpty()) {
+                try {
+                    writeSegment();
+                } catch (IOException e) {
+                    markBroken();
+                    throw e;
+                }
+            }
+            complete = true;
+            writeIndex();
+        }
+
+        synchronized Snapshot snapshot() {
+            return new Snapshot(dir, segmentLines, segments, lines, List.copyOf(current), complete, broken);
+        }
+
+        private void writeSegment() throws IOException {
+            Path file = getSegmentFile(dir, segments);
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8)) {
+                for (String line : current) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+            segments++;
+            current.clear();
+            writeIndex();
+        }
+
+        synchronized void writeIndex() throws IOException {
+            JsonObject index = new JsonObject()
+                    .put("segmentLines", segmentLines)
+                    .put("segments", segments)
+                    .put("total", lines)
+                    .put("complete", complete)
+                    .put("broken", broken);
+            Path temp = dir.resolve(INDEX_FILENAME + ".tmp");
+            Files.writeString(temp, index.encode());
+            Files.move(temp, dir.resolve(INDEX_FILENAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        static Path getSegmentFile(Path dir, int segment) {
+            return dir.resolve(String.format("%06d.log.gz", segment));
+        }
+
+        static class Snapshot {
+
+            private final Path dir;
+            private final int segmentLines;
+            private final int segments;
+            private final long total;
+            private final List<String> current;
+            private final boolean complete;
+            private final boolean broken;
+
+            Snapshot(Path dir, int segmentLines, int segments, long total, List<String> current, boolean complete, boolean broken) {
+                this.dir = dir;
+                this.segmentLines = segmentLines;
+                this.segments = segments;
+                this.total = total;
+                this.current = current;
+                this.complete = complete;
+                this.broken = broken;
+            }
+
+            JsonObject toJson() {
+                return new JsonObject()
+                        .put("total", total)
+                        .put("complete", complete)
+                        .put("broken", broken);
+            }
+
+            // every request decompresses each whole segment its range touches, even for a few lines,
+            // so a page should stay within one segment and segment-lines bounds the cost of a read
+            List<String> read(long from, int count) throws IOException {
+                List<String> result = new ArrayList<>();
+                long end = Math.min(total, from + Math.max(count, 0));
+                for (long line = Math.max(from, 0); line < end; ) {
+                    int segment = (int) (line / segmentLines);
+                    List<String> segmentContent = getSegment(segment);
+                    int offset = (int) (line - (long) segment * segmentLines);
+                    if (offset >= segmentContent.size()) {
+                        break;
+                    }
+                    int take = (int) Math.min(end - line, segmentContent.size() - offset);
+                    result.addAll(segmentContent.subList(offset, offset + take));
+                    line += take;
+                }
+                return result;
+            }
+
+            List<Long> search(String text, int limit) throws IOException {
+                List<Long> result = new ArrayList<>();
+                for (int segment = 0; segment <= segments && result.size() < limit; segment++) {
+                    List<String> segmentContent = getSegment(segment);
+                    for (int i = 0; i < segmentContent.size() && result.size() < limit; i++) {
+                        if (segmentContent.get(i).contains(text)) {
+                            result.add((long) segment * segmentLines + i);
+                        }
+                    }
+                }
+                return result;
+            }
+
+            private List<String> getSegment(int segment) throws IOException {
+                if (segment >= segments) {
+                    return segment == segments ? current : List.of();
+                }
+                Path file = getSegmentFile(dir, segment);
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                    return reader.lines().toList();
+                }
+            }
+        }
+    }
+}
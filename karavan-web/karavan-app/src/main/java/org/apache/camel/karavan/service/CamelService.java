@@ -18,6 +18,10 @@ package org.apache.camel.karavan.service;
 
 import io.quarkus.scheduler.Scheduled;
 import io.quarkus.vertx.ConsumeEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.tuples.Tuple2;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.Vertx;
 import io.vertx.mutiny.core.buffer.Buffer;
@@ -31,21 +35,48 @@ import org.apache.camel.karavan.infinispan.InfinispanService;
 import org.apache.camel.karavan.infinispan.model.CamelStatus;
 import org.apache.camel.karavan.infinispan.model.CamelStatusValue;
 import org.apache.camel.karavan.infinispan.model.ContainerStatus;
+import org.apache.camel.karavan.infinispan.model.ProjectFile;
 import org.apache.camel.karavan.kubernetes.KubernetesService;
 import org.apache.camel.karavan.shared.Constants;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
 import org.jboss.logging.Logger;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class CamelService {
 
     private static final Logger LOGGER = Logger.getLogger(CamelService.class.getName());
-    public static final String CMD_COLLECT_CAMEL_STATUS = "collect-camel-status";
     public static final String RELOAD_PROJECT_CODE = "RELOAD_PROJECT_CODE";
+    private static final long UPLOAD_TIMEOUT = 1000;
+
+    private static final List<CamelStatusValue.Name> FAST_STATUSES = List.of(CamelStatusValue.Name.context, CamelStatusValue.Name.route, CamelStatusValue.Name.inflight);
+    private static final List<CamelStatusValue.Name> MEDIUM_STATUSES = List.of(CamelStatusValue.Name.memory, CamelStatusValue.Name.jvm);
+    private static final List<CamelStatusValue.Name> SLOW_STATUSES = List.of(CamelStatusValue.Name.source, CamelStatusValue.Name.properties);
+
+    // fields rendered by the web UI, kept when karavan.camel.status.ui-fields-only is enabled
+    private static final Map<CamelStatusValue.Name, Map<String, List<String>>> UI_FIELDS = Map.of(
+            CamelStatusValue.Name.context, Map.of("context", List.of("name", "version", "state", "phase", "uptime", "statistics")),
+            CamelStatusValue.Name.memory, Map.of("memory", List.of("heapMemoryInit", "heapMemoryMax", "heapMemoryUsed", "nonHeapMemoryInit", "nonHeapMemoryMax", "nonHeapMemoryUsed")),
+            CamelStatusValue.Name.jvm, Map.of("jvm", List.of("vmVendor", "vmVersion", "vmUptime", "pid")),
+            CamelStatusValue.Name.trace, Map.of("trace", List.of("traces"))
+    );
+
+    private final Map<String, String> collectedContainerIds = new ConcurrentHashMap<>();
+    private final Map<String, Map<CamelStatusValue.Name, CamelStatusValue>> lastValues = new ConcurrentHashMap<>();
+    private final Map<String, Instant> lastMediumCollect = new ConcurrentHashMap<>();
+    private final Map<String, Instant> lastSlowCollect = new ConcurrentHashMap<>();
+    private final Map<String, Instant> statusViewers = new ConcurrentHashMap<>();
+    private final Map<String, Instant> traceViewers = new ConcurrentHashMap<>();
+    private final Map<String, Instant> lastPushes = new ConcurrentHashMap<>();
+    // container id and file hashes of the last complete upload per dev-mode project
+    private final Map<String, Tuple2<String, Map<String, String>>> uploadedFiles = new ConcurrentHashMap<>();
 
     @Inject
     InfinispanService infinispanService;
@@ -62,6 +93,27 @@ public class CamelService {
     @ConfigProperty(name = "karavan.environment")
     String environment;
 
+    @ConfigProperty(name = "karavan.camel.status.deadline", defaultValue = "1500ms")
+    Duration statusDeadline;
+
+    @ConfigProperty(name = "karavan.camel.status.concurrency", defaultValue = "32")
+    int statusConcurrency;
+
+    @ConfigProperty(name = "karavan.camel.status.medium.interval", defaultValue = "10s")
+    Duration mediumInterval;
+
+    @ConfigProperty(name = "karavan.camel.status.slow.interval", defaultValue = "60s")
+    Duration slowInterval;
+
+    @ConfigProperty(name = "karavan.camel.status.viewer.timeout", defaultValue = "10s")
+    Duration viewerTimeout;
+
+    @ConfigProperty(name = "karavan.camel.status.ui-fields-only", defaultValue = "false")
+    boolean uiFieldsOnly;
+
+    @ConfigProperty(name = "karavan.camel.status.push.timeout", defaultValue = "10s")
+    Duration pushTimeout;
+
     @Inject
     Vertx vertx;
 
@@ -81,29 +133,217 @@ public class CamelService {
     public void collectCamelStatuses() {
         LOGGER.info("Collect Camel Statuses");
         if (infinispanService.isReady()) {
-            infinispanService.getContainerStatuses(environment).stream()
+            Instant now = Instant.now();
+            List<ContainerStatus> containers = infinispanService.getContainerStatuses(environment).stream()
                     .filter(cs ->
                             cs.getType() == ContainerStatus.ContainerType.project
                                     || cs.getType() == ContainerStatus.ContainerType.devmode
                     ).filter(cs -> Objects.equals(cs.getCamelRuntime(), Constants.CamelRuntime.CAMEL_MAIN.getValue()))
-                    .forEach(cs -> {
-                        CamelStatusRequest csr = new CamelStatusRequest(cs.getProjectId(), cs.getContainerName());
-                        eventBus.publish(CMD_COLLECT_CAMEL_STATUS,
-                                JsonObject.mapFrom(Map.of("containerStatus", cs, "camelStatusRequest", csr))
-                        );
-                    });
+                    .toList();
+            removeGoneContainers(containers);
+            List<ContainerStatus> targets = containers.stream()
+                    .filter(cs -> !isPushing(cs.getContainerName(), now))
+                    .toList();
+            if (!targets.isEmpty()) {
+                try {
+                    List<CamelStatus> statuses = collectCamelStatuses(targets, now);
+                    infinispanService.saveCamelStatuses(statuses.stream().map(cs -> mergeWithLastValues(cs, now)).toList());
+                } catch (Exception e) {
+                    LOGGER.error("Error collecting Camel statuses: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // at most statusConcurrency requests are in flight, whatever has not answered by the deadline is skipped this sweep
+    private List<CamelStatus> collectCamelStatuses(List<ContainerStatus> targets, Instant now) {
+        List<Tuple2<ContainerStatus, CamelStatusValue.Name>> requests = targets.stream()
+                .flatMap(cs -> getStatusNamesToCollect(cs, now).stream().map(name -> Tuple2.of(cs, name)))
+                .toList();
+        List<Tuple2<String, CamelStatusValue>> values = Multi.createFrom().iterable(requests)
+                .onItem().transformToUni(request -> getCamelStatusAsync(request.getItem1(), request.getItem2())
+                        .map(value -> value != null ? Tuple2.of(request.getItem1().getContainerName(), value) : null))
+                .merge(statusConcurrency)
+                .select().first(statusDeadline)
+                .collect().asList()
+                .await().atMost(statusDeadline.multipliedBy(2));
+        Map<String, List<CamelStatusValue>> valuesByContainer = values.stream()
+                .collect(Collectors.groupingBy(Tuple2::getItem1, Collectors.mapping(Tuple2::getItem2, Collectors.toList())));
+        List<CamelStatus> statuses = new ArrayList<>();
+        targets.forEach(cs -> {
+            List<CamelStatusValue> containerValues = new ArrayList<>(valuesByContainer.getOrDefault(cs.getContainerName(), List.of()));
+            if (containerValues.stream().anyMatch(value -> MEDIUM_STATUSES.contains(value.getName()))) {
+                lastMediumCollect.put(cs.getContainerName(), now);
+            }
+            if (containerValues.stream().anyMatch(value -> SLOW_STATUSES.contains(value.getName()))) {
+                lastSlowCollect.put(cs.getContainerName(), now);
+            }
+            statuses.add(new CamelStatus(cs.getProjectId(), cs.getContainerName(), containerValues, environment));
+        });
+        if (values.size() < requests.size()) {
+            LOGGER.infof("Collected %d of %d Camel statuses before the deadline", values.size(), requests.size());
+        }
+        return statuses;
+    }
+
+    public int saveCamelStatusSnapshots(JsonArray snapshots) {
+        Instant now = Instant.now();
+        List<CamelStatus> statuses = new ArrayList<>();
+        snapshots.stream().filter(JsonObject.class::isInstance).map(JsonObject.class::cast).forEach(snapshot -> {
+            String projectId = snapshot.getString("projectId");
+            String containerName = snapshot.getString("containerName");
+            ContainerStatus containerStatus = projectId != null && containerName != null
+                    ? infinispanService.getContainerStatus(projectId, environment, containerName)
+                    : null;
+            if (containerStatus != null && snapshot.getValue("statuses") instanceof JsonObject values) {
+                resetOnContainerChange(containerStatus);
+                List<CamelStatusValue> statusValues = new ArrayList<>();
+                Arrays.stream(CamelStatusValue.Name.values()).forEach(statusName -> {
+                    if (values.getValue(statusName.name()) instanceof JsonObject value) {
+                        statusValues.add(new CamelStatusValue(statusName, encodeStatus(statusName, value)));
+                    }
+                });
+                lastPushes.put(containerName, now);
+                statuses.add(mergeWithLastValues(new CamelStatus(projectId, containerName, statusValues, environment), now));
+            }
+        });
+        if (!statuses.isEmpty()) {
+            infinispanService.saveCamelStatuses(statuses);
+        }
+        return statuses.size();
+    }
+
+    private boolean isPushing(String containerName, Instant now) {
+        Instant lastPush = lastPushes.get(containerName);
+        return lastPush != null && lastPush.plus(pushTimeout).isAfter(now);
+    }
+
+    public void onStatusViewed(String projectId) {
+        statusViewers.put(projectId, Instant.now());
+    }
+
+    public void onTraceViewed(String projectId) {
+        traceViewers.put(projectId, Instant.now());
+    }
+
+    private void resetOnContainerChange(ContainerStatus cs) {
+        String name = cs.getContainerName();
+        if (!Objects.equals(collectedContainerIds.put(name, String.valueOf(cs.getContainerId())), String.valueOf(cs.getContainerId()))) {
+            // new or recreated container: collect everything again
+            lastValues.remove(name);
+            lastMediumCollect.remove(name);
+            lastSlowCollect.remove(name);
+            lastPushes.remove(name);
+        }
+    }
+
+    private List<CamelStatusValue.Name> getStatusNamesToCollect(ContainerStatus cs, Instant now) {
+        String name = cs.getContainerName();
+        resetOnContainerChange(cs);
+        List<CamelStatusValue.Name> names = new ArrayList<>(FAST_STATUSES);
+        // tiers are recorded only after a successful response, so a failed or late fetch is retried on the next sweep
+        if (isDue(lastMediumCollect, name, mediumInterval, now)) {
+            names.addAll(MEDIUM_STATUSES);
+        }
+        Instant lastSlow = lastSlowCollect.get(name);
+        if (lastSlow == null
+                || (isViewed(statusViewers, cs.getProjectId(), now) && !lastSlow.plus(slowInterval).isAfter(now))) {
+            names.addAll(SLOW_STATUSES);
+        }
+        if (isViewed(traceViewers, cs.getProjectId(), now)) {
+            names.add(CamelStatusValue.Name.trace);
         }
+        return names;
+    }
+
+    private boolean isDue(Map<String, Instant> lastCollect, String name, Duration interval, Instant now) {
+        Instant last = lastCollect.get(name);
+        return last == null || !last.plus(interval).isAfter(now);
+    }
+
+    private boolean isViewed(Map<String, Instant> viewers, String projectId, Instant now) {
+        Instant lastView = viewers.get(projectId);
+        return lastView != null && lastView.plus(viewerTimeout).isAfter(now);
+    }
+
+    private CamelStatus mergeWithLastValues(CamelStatus status, Instant now) {
+        Map<CamelStatusValue.Name, CamelStatusValue> values = lastValues.computeIfAbsent(status.getContainerName(), k -> new ConcurrentHashMap<>());
+        status.getStatuses().forEach(value -> values.put(value.getName(), value));
+        if (!isViewed(traceViewers, status.getProjectId(), now)) {
+            values.remove(CamelStatusValue.Name.trace);
+        }
+        status.setStatuses(new ArrayList<>(values.values()));
+        return status;
+    }
+
+    private void removeGoneContainers(List<ContainerStatus> containers) {
+        Set<String> names = containers.stream().map(ContainerStatus::getContainerName).collect(Collectors.toSet());
+        collectedContainerIds.keySet().retainAll(names);
+        lastValues.keySet().retainAll(names);
+        lastMediumCollect.keySet().retainAll(names);
+        lastSlowCollect.keySet().retainAll(names);
+        lastPushes.keySet().retainAll(names);
+    }
+
+    private Uni<CamelStatusValue> getCamelStatusAsync(ContainerStatus containerStatus, CamelStatusValue.Name statusName) {
+        return Uni.createFrom().deferred(() -> {
+                    String url = getContainerAddressForStatus(containerStatus) + "/q/dev/" + statusName.name();
+                    return getWebClient().getAbs(url).putHeader("Accept", "application/json")
+                            .timeout(statusDeadline.toMillis()).send();
+                })
+                .map(result -> result.statusCode() == 200
+                        ? new CamelStatusValue(statusName, encodeStatus(statusName, result.bodyAsJsonObject()))
+                        : null)
+                .onFailure().recoverWithNull();
+    }
+
+    private String encodeStatus(CamelStatusValue.Name statusName, JsonObject status) {
+        Map<String, List<String>> sections = UI_FIELDS.get(statusName);
+        if (uiFieldsOnly && sections != null) {
+            JsonObject result = new JsonObject();
+            sections.forEach((section, fields) -> {
+                if (status.getValue(section) instanceof JsonObject source) {
+                    JsonObject target = new JsonObject();
+                    fields.stream().filter(source::containsKey).forEach(field -> target.put(field, source.getValue(field)));
+                    result.put(section, target);
+                }
+            });
+            return result.encode();
+        }
+        return status.encode();
     }
 
     @ConsumeEvent(value = RELOAD_PROJECT_CODE, blocking = true, ordered = true)
     public void reloadProjectCode(String projectId) {
         LOGGER.info("Reload project code " + projectId);
         try {
-            deleteRequest(projectId);
+            ContainerStatus containerStatus = infinispanService.getDevModeContainerStatus(projectId, environment);
             Map<String, String> files = codeService.getProjectFilesForDevMode(projectId, true);
-            files.forEach((name, code) -> putRequest(projectId, name, code, 1000));
+            Map<String, String> hashes = files.entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, e -> String.valueOf(ProjectFile.hash(e.getValue()))));
+            // a recreated container has a new id and gets all files again
+            String containerId = containerStatus != null ? containerStatus.getContainerId() : null;
+            Tuple2<String, Map<String, String>> uploaded = uploadedFiles.remove(projectId);
+            boolean success;
+            if (containerId == null || uploaded == null || !Objects.equals(uploaded.getItem1(), containerId)) {
+                deleteRequest(projectId);
+                success = uploadFiles(projectId, files);
+            } else {
+                Map<String, String> previous = uploaded.getItem2();
+                Map<String, String> changed = files.entrySet().stream()
+                        .filter(e -> !Objects.equals(previous.get(e.getKey()), hashes.get(e.getKey())))
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                List<String> deleted = previous.keySet().stream().filter(name -> !files.containsKey(name)).toList();
+                LOGGER.infof("Upload %d changed and delete %d removed files for %s", changed.size(), deleted.size(), projectId);
+                boolean filesDeleted = deleteFiles(projectId, deleted);
+                success = uploadFiles(projectId, changed) && filesDeleted;
+            }
+            // after a failed upload the next reload starts from scratch
+            if (containerId != null && success) {
+                uploadedFiles.put(projectId, Tuple2.of(containerId, hashes));
+            }
             reloadRequest(projectId);
-            ContainerStatus containerStatus = infinispanService.getDevModeContainerStatus(projectId, environment);
+            lastSlowCollect.remove(projectId);
             containerStatus.setCodeLoaded(true);
             eventBus.publish(ContainerStatusService.CONTAINER_STATUS, JsonObject.mapFrom(containerStatus));
         } catch (Exception ex) {
@@ -111,17 +351,36 @@ public class CamelService {
         }
     }
 
-    @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 1000)
-    public boolean putRequest(String containerName, String fileName, String body, int timeout) {
-        try {
-            String url = getContainerAddressForReload(containerName) + "/q/upload/" + fileName;
-            HttpResponse<Buffer> result = getWebClient().putAbs(url)
-                    .timeout(timeout).sendBuffer(Buffer.buffer(body)).subscribeAsCompletionStage().toCompletableFuture().get();
-            return result.statusCode() == 200;
-        } catch (Exception e) {
-            LOGGER.info(e.getMessage());
+    private boolean uploadFiles(String projectId, Map<String, String> files) {
+        String url = getContainerAddressForReload(projectId) + "/q/upload/";
+        List<Uni<Boolean>> requests = files.entrySet().stream()
+                .map(e -> isSuccessful(getWebClient().putAbs(url + e.getKey())
+                        .timeout(UPLOAD_TIMEOUT).sendBuffer(Buffer.buffer(e.getValue()))))
+                .toList();
+        return awaitAll(requests);
+    }
+
+    private boolean deleteFiles(String projectId, List<String> names) {
+        String url = getContainerAddressForReload(projectId) + "/q/upload/";
+        List<Uni<Boolean>> requests = names.stream()
+                .map(name -> isSuccessful(getWebClient().deleteAbs(url + name).timeout(UPLOAD_TIMEOUT).send()))
+                .toList();
+        return awaitAll(requests);
+    }
+
+    private Uni<Boolean> isSuccessful(Uni<HttpResponse<Buffer>> request) {
+        return request.map(result -> result.statusCode() >= 200 && result.statusCode() < 300)
+                .onFailure().invoke(e -> LOGGER.info(e.getMessage()))
+                .onFailure().recoverWithItem(false);
+    }
+
+    private boolean awaitAll(List<Uni<Boolean>> requests) {
+        if (requests.isEmpty()) {
+            return true;
         }
-        return false;
+        return Uni.join().all(requests).andCollectFailures()
+                .await().atMost(Duration.ofMillis(UPLOAD_TIMEOUT * 2))
+                .stream().allMatch(Boolean::booleanValue);
     }
 
     public String deleteRequest(String containerName) {
@@ -166,34 +425,6 @@ public class CamelService {
         }
     }
 
-    public String getCamelStatus(ContainerStatus containerStatus, CamelStatusValue.Name statusName) {
-        String url = getContainerAddressForStatus(containerStatus) + "/q/dev/" + statusName.name();
-        try {
-            return getResult(url, 500);
-        } catch (InterruptedException | ExecutionException e) {
-            LOGGER.error(e.getMessage());
-        }
-        return null;
-    }
-
-    @ConsumeEvent(value = CMD_COLLECT_CAMEL_STATUS, blocking = true, ordered = true)
-    public void collectCamelStatuses(JsonObject data) {
-        CamelStatusRequest dms = data.getJsonObject("camelStatusRequest").mapTo(CamelStatusRequest.class);
-        ContainerStatus containerStatus = data.getJsonObject("containerStatus").mapTo(ContainerStatus.class);
-        LOGGER.info("Collect Camel Status for " + containerStatus.getContainerName());
-        String projectId = dms.getProjectId();
-        String containerName = dms.getContainerName();
-        List<CamelStatusValue> statuses = new ArrayList<>();
-        Arrays.stream(CamelStatusValue.Name.values()).forEach(statusName -> {
-            String status = getCamelStatus(containerStatus, statusName);
-            if (status != null) {
-                statuses.add(new CamelStatusValue(statusName, status));
-            }
-        });
-        CamelStatus cs = new CamelStatus(projectId, containerName, statuses, environment);
-        infinispanService.saveCamelStatus(cs);
-    }
-
     @CircuitBreaker(requestVolumeThreshold = 10, failureRatio = 0.5, delay = 1000)
     public String getResult(String url, int timeout) throws InterruptedException, ExecutionException {
         try {
@@ -201,7 +432,7 @@ public class CamelService {
                     .timeout(timeout).send().subscribeAsCompletionStage().toCompletableFuture().get();
             if (result.statusCode() == 200) {
                 JsonObject res = result.bodyAsJsonObject();
-                return res.encodePrettily();
+                return res.encode();
             }
         } catch (Exception e) {
             LOGGER.info(e.getMessage());
@@ -214,40 +445,10 @@ public class CamelService {
             HttpResponse<Buffer> result = getWebClient().deleteAbs(url)
                     .timeout(timeout).send().subscribeAsCompletionStage().toCompletableFuture().get();
                 JsonObject res = result.bodyAsJsonObject();
-                return res.encodePrettily();
+                return res.encode();
         } catch (Exception e) {
             LOGGER.info(e.getMessage());
         }
         return null;
     }
-
-    public static class CamelStatusRequest {
-        private String projectId;
-        private String containerName;
-
-        public CamelStatusRequest() {
-        }
-
-        public CamelStatusRequest(String projectId, String containerName) {
-            this.projectId = projectId;
-            this.containerName = containerName;
-        }
-
-        public String getProjectId() {
-            return projectId;
-        }
-
-        public void setProjectId(String projectId) {
-            this.projectId = projectId;
-        }
-
-        public String getContainerName() {
-            return containerName;
-        }
-
-        public void setContainerName(String containerName) {
-            this.containerName = containerName;
-        }
-
-    }
 }
\ No newline at end of file
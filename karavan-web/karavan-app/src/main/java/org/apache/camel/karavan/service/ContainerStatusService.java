@@ -32,7 +32,9 @@ import org.jboss.logging.Logger;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ApplicationScoped
 public class ContainerStatusService {
@@ -52,11 +54,14 @@ public class ContainerStatusService {
     @Inject
     EventBus eventBus;
 
+    private final Map<String, ContainerStatus> lastStatuses = new ConcurrentHashMap<>();
+    private final Map<String, String> lastStatistics = new ConcurrentHashMap<>();
+
     @Scheduled(every = "{karavan.container.statistics.interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     void collectContainersStatistics() {
         if (infinispanService.isReady() && !ConfigService.inKubernetes()) {
             List<ContainerStatus> statusesInDocker = dockerService.collectContainersStatistics();
-            statusesInDocker.forEach(containerStatus -> {
+            statusesInDocker.stream().filter(this::isStatisticsChanged).forEach(containerStatus -> {
                 eventBus.publish(ContainerStatusService.CONTAINER_STATUS, JsonObject.mapFrom(containerStatus));
             });
         }
@@ -67,7 +72,7 @@ public class ContainerStatusService {
         if (infinispanService.isReady() && !ConfigService.inKubernetes()) {
             if (!ConfigService.inKubernetes()) {
                 List<ContainerStatus> statusesInDocker = dockerService.collectContainersStatuses();
-                statusesInDocker.forEach(containerStatus -> {
+                statusesInDocker.stream().filter(this::isStatusChanged).forEach(containerStatus -> {
                     eventBus.publish(ContainerStatusService.CONTAINER_STATUS, JsonObject.mapFrom(containerStatus));
                 });
                 cleanContainersStatuses(statusesInDocker);
@@ -75,6 +80,28 @@ public class ContainerStatusService {
         }
     }
 
+    @Scheduled(every = "{karavan.container.status.resync.interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void resetLastStatuses() {
+        lastStatuses.clear();
+        lastStatistics.clear();
+    }
+
+    private boolean isStatusChanged(ContainerStatus status) {
+        ContainerStatus last = lastStatuses.put(status.getContainerName(), status);
+        return last == null
+                || !Objects.equals(last.getState(), status.getState())
+                || !Objects.equals(last.getContainerId(), status.getContainerId())
+                || !Objects.equals(last.getImage(), status.getImage())
+                || !Objects.equals(last.getPorts(), status.getPorts())
+                || !Objects.equals(last.getType(), status.getType())
+                || !Objects.equals(last.getCamelRuntime(), status.getCamelRuntime());
+    }
+
+    private boolean isStatisticsChanged(ContainerStatus status) {
+        String statistics = status.getState() + "|" + status.getCpuInfo() + "|" + status.getMemoryInfo();
+        return !Objects.equals(lastStatistics.put(status.getContainerName(), statistics), statistics);
+    }
+
     void cleanContainersStatuses(List<ContainerStatus> statusesInDocker) {
         if (infinispanService.isReady() && !ConfigService.inKubernetes()) {
             List<String> namesInDocker = statusesInDocker.stream().map(ContainerStatus::getContainerName).toList();
@@ -85,12 +112,21 @@ public class ContainerStatusService {
                     .filter(cs -> !namesInDocker.contains(cs.getContainerName()))
                     .forEach(containerStatus -> {
                         eventBus.publish(ContainerStatusService.CONTAINER_DELETED, JsonObject.mapFrom(containerStatus));
-                        infinispanService.deleteContainerStatus(containerStatus);
-                        infinispanService.deleteCamelStatuses(containerStatus.getProjectId(), containerStatus.getEnv());
                     });
         }
     }
 
+    @ConsumeEvent(value = CONTAINER_DELETED, blocking = true, ordered = true)
+    public void deleteContainerStatus(JsonObject data) {
+        if (infinispanService.isReady()) {
+            ContainerStatus status = data.mapTo(ContainerStatus.class);
+            lastStatuses.remove(status.getContainerName());
+            lastStatistics.remove(status.getContainerName());
+            infinispanService.deleteContainerStatus(status);
+            infinispanService.deleteCamelStatuses(status.getProjectId(), status.getEnv());
+        }
+    }
+
     private boolean checkTransit(ContainerStatus cs) {
         if (cs.getContainerId() == null && cs.getInTransit()) {
             return Instant.parse(cs.getInitDate()).until(Instant.now(), ChronoUnit.SECONDS) < 10;
@@ -102,6 +138,12 @@ public class ContainerStatusService {
     public void saveContainerStatus(JsonObject data) {
         if (infinispanService.isReady()) {
             ContainerStatus newStatus = data.mapTo(ContainerStatus.class);
+            if (Objects.equals(newStatus.getInTransit(), Boolean.TRUE)) {
+                // next poll must publish the real state to clear the transit flag
+                lastStatuses.remove(newStatus.getContainerName());
+            } else if (newStatus.getContainerId() != null) {
+                lastStatuses.put(newStatus.getContainerName(), newStatus);
+            }
             ContainerStatus oldStatus = infinispanService.getContainerStatus(newStatus.getProjectId(), newStatus.getEnv(), newStatus.getContainerName());
 
             if (oldStatus == null) {
@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.tuples.Tuple2;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.apache.camel.karavan.docker.DockerService;
+import org.apache.camel.karavan.docker.LogCallback;
+import org.apache.camel.karavan.kubernetes.KubernetesService;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ApplicationScoped
+public class LogWatchService {
+
+    private static final Logger LOGGER = Logger.getLogger(LogWatchService.class.getName());
+    public static final int TAIL_LINES = 100;
+
+    @ConfigProperty(name = "karavan.log.watch.max-pending", defaultValue = "1000")
+    int maxPending;
+    @ConfigProperty(name = "karavan.log.watch.batch.interval", defaultValue = "50ms")
+    Duration batchInterval;
+    @ConfigProperty(name = "karavan.log.watch.batch.size", defaultValue = "65536")
+    int batchSize;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    KubernetesService kubernetesService;
+
+    @Inject
+    DockerService dockerService;
+
+    @Inject
+    BlockingTaskExecutor blockingTaskExecutor;
+
+    private final Map<String, LogStream> streams = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void startFlushTimer() {
+        vertx.setPeriodic(batchInterval.toMillis(), id -> streams.values().forEach(LogStream::flush));
+    }
+
+    public void subscribe(String name, SseEventSink eventSink, Sse sse, boolean batch) {
+        LogSubscriber subscriber = new LogSubscriber(eventSink, sse, maxPending, batch ? batchSize : 0);
+        LogStream created = new LogStream(name);
+        LogStream current = streams.compute(name, (key, stream) -> {
+            if (stream == null || stream.isClosed()) {
+                stream = created;
+            }
+            stream.add(subscriber);
+            return stream;
+        });
+        if (current == created) {
+            follow(created);
+        }
+    }
+
+    @Scheduled(every = "{karavan.log.watch.prune.interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void pruneSubscribers() {
+        streams.keySet().forEach(name -> streams.computeIfPresent(name, (key, stream) -> {
+            if (stream.prune() == 0) {
+                LOGGER.info("LogWatch for " + name + " has no subscribers");
+                stream.close();
+                return null;
+            }
+            return stream;
+        }));
+    }
+
+    private void follow(LogStream stream) {
+        LOGGER.info("LogWatch for " + stream.getName() + " starting...");
+        try {
+            if (ConfigService.inKubernetes()) {
+                blockingTaskExecutor.execute(() -> {
+                    try {
+                        followKubernetesLogs(stream);
+                    } catch (Exception e) {
+                        LOGGER.error(e.getMessage());
+                    } finally {
+                        closeStream(stream);
+                    }
+                });
+            } else {
+                followDockerLogs(stream);
+            }
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage());
+            closeStream(stream);
+        }
+    }
+
+    private void closeStream(LogStream stream) {
+        if (!stream.isClosed()) {
+            streams.remove(stream.getName(), stream);
+            stream.close();
+            LOGGER.info("LogWatch for " + stream.getName() + " closed");
+        }
+    }
+
+    // docker-java delivers frames on its own stream thread, so no executor thread waits for a docker log
+    private void followDockerLogs(LogStream stream) {
+        LogCallback logCallback = new LogCallback(stream::publish, () -> closeStream(stream));
+        if (stream.setUpstream(logCallback) && !dockerService.followContainerLog(stream.getName(), TAIL_LINES, logCallback)) {
+            closeStream(stream);
+        }
+    }
+
+    private void followKubernetesLogs(LogStream stream) {
+        Tuple2<LogWatch, KubernetesClient> request = kubernetesService.getContainerLogWatch(stream.getName());
+        LogWatch logWatch = request.getItem1();
+        boolean started = stream.setUpstream(() -> {
+            logWatch.close();
+            request.getItem2().close();
+        });
+        if (started) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(logWatch.getOutput()))) {
+                for (String line; (line = reader.readLine()) != null; ) {
+                    stream.publish(line);
+                }
+            } catch (IOException e) {
+                if (!stream.isClosed()) {
+                    LOGGER.error(e.getMessage());
+                }
+            }
+        }
+    }
+
+    static class LogStream {
+
+        private final String name;
+        private final Deque<String> history = new ArrayDeque<>(TAIL_LINES);
+        private final Set<LogSubscriber> subscribers = new HashSet<>();
+        private Closeable upstream;
+        private boolean closed;
+
+        LogStream(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        synchronized void publish(String line) {
+            if (history.size() == TAIL_LINES) {
+                history.removeFirst();
+            }
+            history.addLast(line);
+            subscribers.removeIf(subscriber -> !subscriber.offer(line));
+        }
+
+        synchronized void add(LogSubscriber subscriber) {
+            history.forEach(subscriber::offer);
+            subscribers.add(subscriber);
+        }
+
+        synchronized void flush() {
+            subscribers.forEach(LogSubscriber::flush);
+        }
+
+        synchronized int prune() {
+            subscribers.removeIf(LogSubscriber::isClosed);
+            return subscribers.size();
+        }
+
+        boolean setUpstream(Closeable upstream) {
+            synchronized (this) {
+                if (!closed) {
+                    this.upstream = upstream;
+                    return true;
+                }
+            }
+            closeQuietly(upstream);
+            return false;
+        }
+
+        void close() {
+            Closeable currentUpstream;
+            List<LogSubscriber> currentSubscribers;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                subscribers.forEach(LogSubscriber::flush);
+                currentUpstream = upstream;
+                currentSubscribers = new ArrayList<>(subscribers);
+                subscribers.clear();
+            }
+            if (currentUpstream != null) {
+                closeQuietly(currentUpstream);
+            }
+            currentSubscribers.forEach(LogSubscriber::close);
+        }
+    }
+
+    static class LogSubscriber {
+
+        private final SseEventSink sink;
+        private final Sse sse;
+        private final int maxPending;
+        private final int batchSize;
+        private final StringBuilder batch = new StringBuilder();
+        private int batchLines;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile boolean failed;
+
+        LogSubscriber(SseEventSink sink, Sse sse, int maxPending, int batchSize) {
+            this.sink = sink;
+            this.sse = sse;
+            this.maxPending = maxPending;
+            this.batchSize = batchSize;
+        }
+
+        boolean isClosed() {
+            return failed || sink.isClosed();
+        }
+
+        boolean offer(String line) {
+            if (isClosed()) {
+                return false;
+            }
+            if (batchSize <= 0) {
+                emit(line, 1);
+                return true;
+            }
+            // batched lines are sent as one newline separated event
+            if (batchLines > 0) {
+                batch.append('\n');
+            }
+            batch.append(line, 0, line.endsWith("\n") ? line.length() - 1 : line.length());
+            batchLines++;
+            if (batch.length() >= batchSize) {
+                flush();
+            }
+            return true;
+        }
+
+        void flush() {
+            if (batchLines > 0 && !isClosed()) {
+                String data = batch.toString();
+                int lines = batchLines;
+                batch.setLength(0);
+                batchLines = 0;
+                emit(data, lines);
+            }
+        }
+
+        // a slow subscriber loses lines instead of slowing down the upstream and other subscribers
+        private void emit(String data, int lines) {
+            if (pending.get() >= maxPending) {
+                dropped.addAndGet(lines);
+                return;
+            }
+            long skipped = dropped.getAndSet(0);
+            if (skipped > 0) {
+                send("... " + skipped + " lines dropped ...");
+            }
+            send(data);
+        }
+
+        private void send(String data) {
+            pending.incrementAndGet();
+            try {
+                sink.send(sse.newEvent(data)).whenComplete((result, error) -> {
+                    pending.decrementAndGet();
+                    if (error != null) {
+                        failed = true;
+                    }
+                });
+            } catch (Exception e) {
+                pending.decrementAndGet();
+                failed = true;
+            }
+        }
+
+        void close() {
+            closeQuietly(sink);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            LOGGER.debug(e.getMessage());
+        }
+    }
+}
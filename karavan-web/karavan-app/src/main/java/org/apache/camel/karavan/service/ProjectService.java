@@ -16,6 +16,7 @@
  */
 package org.apache.camel.karavan.service;
 
+import io.quarkus.scheduler.Scheduled;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -27,7 +28,10 @@ import org.apache.camel.karavan.code.model.DockerComposeService;
 import org.apache.camel.karavan.docker.DockerForKaravan;
 import org.apache.camel.karavan.git.GitService;
 import org.apache.camel.karavan.git.model.GitRepo;
+import org.apache.camel.karavan.git.model.GitRepoChanges;
+import org.apache.camel.karavan.git.model.GitRepoFile;
 import org.apache.camel.karavan.infinispan.InfinispanService;
+import org.apache.camel.karavan.infinispan.ProjectCatalog;
 import org.apache.camel.karavan.infinispan.model.ContainerStatus;
 import org.apache.camel.karavan.infinispan.model.GroupedKey;
 import org.apache.camel.karavan.infinispan.model.Project;
@@ -47,7 +51,10 @@ import org.jboss.logging.Logger;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.apache.camel.karavan.code.CodeService.*;
@@ -58,10 +65,13 @@ import static org.apache.camel.karavan.code.CodeService.*;
 public class ProjectService implements HealthCheck {
 
     private static final Logger LOGGER = Logger.getLogger(ProjectService.class.getName());
+    private static final int IMPORT_PROGRESS_STEP = 100;
 
     @ConfigProperty(name = "karavan.environment")
     String environment;
 
+    @ConfigProperty(name = "karavan.import.concurrency", defaultValue = "8")
+    int importConcurrency;
 
     @Inject
     ProjectModifyValidator projectModifyValidator;
@@ -84,6 +94,9 @@ public class ProjectService implements HealthCheck {
     @Inject
     CodeService codeService;
 
+    @Inject
+    BuildLogService buildLogService;
+
     @Inject
     EventBus eventBus;
 
@@ -133,6 +146,7 @@ public class ProjectService implements HealthCheck {
             env.addAll(getConnectionsEnvForBuild());
             dockerForKaravan.runBuildProject(project, script, env, tag);
         }
+        buildLogService.archiveBuildLog(project.getProjectId(), tag);
     }
 
     private List<String> getProjectEnvForBuild(Project project, String tag) {
@@ -151,15 +165,16 @@ public class ProjectService implements HealthCheck {
 
     public List<Project> getAllProjects(String type) {
         if (infinispanService.isReady()) {
-            return infinispanService.getProjects().stream()
-                    .filter(p -> type == null || Objects.equals(p.getType().name(), type))
-                    .sorted(Comparator.comparing(Project::getProjectId))
-                    .collect(Collectors.toList());
+            return infinispanService.getProjectCatalog(type).getProjects();
         } else {
             return List.of();
         }
     }
 
+    public ProjectCatalog.Snapshot getProjectCatalog(String type) {
+        return infinispanService.isReady() ? infinispanService.getProjectCatalog(type) : null;
+    }
+
     private String getImage(List<ProjectFile> files, String projectId) {
         Optional<ProjectFile> file = files.stream().filter(f -> Objects.equals(f.getProjectId(), projectId)).findFirst();
         if (file.isPresent()) {
@@ -205,8 +220,8 @@ public class ProjectService implements HealthCheck {
                 .collect(Collectors.toMap(
                         e -> new GroupedKey(project.getProjectId(), e.getKey().getEnv(), e.getKey().getKey()),
                         e -> {
-                            ProjectFile file = e.getValue();
-                            file.setProjectId(project.getProjectId());
+                            ProjectFile source = e.getValue();
+                            ProjectFile file = new ProjectFile(source.getName(), source.getCode(), project.getProjectId(), source.getLastUpdate());
                             if (Objects.equals(file.getName(), APPLICATION_PROPERTIES_FILENAME)) {
                                 modifyPropertyFileOnProjectCopy(file, sourceProject, project);
                             }
@@ -257,11 +272,21 @@ public class ProjectService implements HealthCheck {
         if (infinispanService.isReady() && gitService.checkGit()) {
             if (infinispanService.getProjects().isEmpty()) {
                 importAllProjects();
+            } else {
+                pullProjects();
             }
             if (Objects.equals(environment, Constants.DEV_ENV)) {
-                addKameletsProject();
-                addTemplatesProject();
-                addServicesProject();
+                List<String> added = new ArrayList<>();
+                if (addKameletsProject()) {
+                    added.add(Project.Type.kamelets.name());
+                }
+                if (addTemplatesProject()) {
+                    added.add(Project.Type.templates.name());
+                }
+                if (addServicesProject()) {
+                    added.add(Project.Type.services.name());
+                }
+                pushDefaultProjects(added);
             }
             ready.set(true);
         } else {
@@ -273,31 +298,144 @@ public class ProjectService implements HealthCheck {
     private void importAllProjects() {
         LOGGER.info("Import projects from Git");
         try {
-            List<GitRepo> repos = gitService.readProjectsToImport();
-            repos.forEach(repo -> {
-                Project project;
-                String folderName = repo.getName();
-                if (folderName.equals(Project.Type.templates.name())) {
-                    project = new Project(Project.Type.templates.name(), "Templates", "Templates", repo.getCommitId(), repo.getLastCommitTimestamp(), Project.Type.templates);
-                } else if (folderName.equals(Project.Type.kamelets.name())) {
-                    project = new Project(Project.Type.kamelets.name(), "Custom Kamelets", "Custom Kamelets", repo.getCommitId(), repo.getLastCommitTimestamp(), Project.Type.kamelets);
-                } else if (folderName.equals(Project.Type.services.name())) {
-                    project = new Project(Project.Type.services.name(), "Services", "Development Services", repo.getCommitId(), repo.getLastCommitTimestamp(), Project.Type.services);
-                } else {
-                    project = getProjectFromRepo(repo);
+            String commitId = gitService.getHeadCommitId();
+            importRepos();
+            if (commitId != null) {
+                infinispanService.saveLastImportedCommit(commitId);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error during project import", e);
+        }
+    }
+
+    @Scheduled(every = "{karavan.git-pull-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void pullProjectsFromGit() {
+        if (ready.get()) {
+            pullProjects();
+        }
+    }
+
+    public void pullProjects() {
+        try {
+            String lastCommitId = infinispanService.getLastImportedCommit();
+            if (lastCommitId == null) {
+                // nothing recorded yet, the current state becomes the baseline
+                String commitId = gitService.getHeadCommitId();
+                if (commitId != null) {
+                    infinispanService.saveLastImportedCommit(commitId);
                 }
-                infinispanService.saveProject(project);
+                return;
+            }
+            GitRepoChanges changes = gitService.readChangesSince(lastCommitId);
+            if (changes == null) {
+                LOGGER.warn("Last imported commit " + lastCommitId + " not found in Git, import all projects");
+                importAllProjects();
+            } else if (!Objects.equals(changes.getCommitId(), lastCommitId)) {
+                applyGitChanges(changes);
+                infinispanService.saveLastImportedCommit(changes.getCommitId());
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error during projects pull", e);
+        }
+    }
 
-                repo.getFiles().forEach(repoFile -> {
-                    ProjectFile file = new ProjectFile(repoFile.getName(), repoFile.getBody(), folderName, repoFile.getLastCommitTimestamp());
-                    infinispanService.saveProjectFile(file);
-                });
+    private void applyGitChanges(GitRepoChanges changes) throws Exception {
+        for (String projectId : changes.getDeletedRepos()) {
+            LOGGER.info("Project deleted in Git " + projectId);
+            infinispanService.getProjectFiles(projectId).forEach(file -> infinispanService.deleteProjectFile(projectId, file.getName()));
+            infinispanService.deleteProject(projectId);
+        }
+        changes.getDeletedFiles().forEach((projectId, names) -> {
+            if (!changes.getDeletedRepos().contains(projectId)) {
+                names.forEach(name -> infinispanService.deleteProjectFile(projectId, name));
+            }
+        });
+        for (GitRepo repo : changes.getUpdatedRepos()) {
+            Project project = infinispanService.getProject(repo.getName());
+            if (project == null) {
+                importProject(repo.getName());
+                continue;
+            }
+            String propertiesFile = codeService.getPropertiesFile(repo);
+            String name = project.getName();
+            String description = project.getDescription();
+            if (propertiesFile != null && project.getType() == Project.Type.normal) {
+                name = Objects.requireNonNullElse(codeService.getProjectName(propertiesFile), name);
+                description = Objects.requireNonNullElse(codeService.getProjectDescription(propertiesFile), description);
+            }
+            infinispanService.saveProject(new Project(project.getProjectId(), name, description, repo.getCommitId(), repo.getLastCommitTimestamp(), project.getType()));
+            List<ProjectFile> files = repo.getFiles().stream()
+                    .filter(repoFile -> !isChangedLocally(repo.getName(), repoFile))
+                    .map(repoFile -> new ProjectFile(repoFile.getName(), repoFile.getBody(), repo.getName(), repoFile.getLastCommitTimestamp()))
+                    .toList();
+            infinispanService.saveProjectFilesAsync(files).join();
+        }
+    }
+
+    // local edits made after the Git change are kept
+    private boolean isChangedLocally(String projectId, GitRepoFile repoFile) {
+        ProjectFile file = infinispanService.getProjectFile(projectId, repoFile.getName());
+        return file != null && file.getLastUpdate() != null && file.getLastUpdate() > repoFile.getLastCommitTimestamp();
+    }
+
+    // projects are written while Git is still being read, the semaphore bounds projects held in memory
+    private void importRepos() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        Semaphore permits = new Semaphore(importConcurrency);
+        AtomicInteger projectsImported = new AtomicInteger();
+        AtomicInteger filesImported = new AtomicInteger();
+        int total = gitService.readProjectsToImport(importConcurrency, repo -> {
+            permits.acquireUninterruptibly();
+            CompletableFuture<Void> saved;
+            try {
+                saved = saveImportedProject(getImportedProject(repo), repo);
+            } catch (Exception e) {
+                // the permit is released by whenComplete in every case
+                saved = CompletableFuture.failedFuture(e);
+            }
+            saved.whenComplete((v, e) -> {
+                permits.release();
+                if (e != null) {
+                    LOGGER.error("Error during import of project " + repo.getName(), e);
+                } else {
+                    int projects = projectsImported.incrementAndGet();
+                    int files = filesImported.addAndGet(repo.getFiles().size());
+                    if (projects % IMPORT_PROGRESS_STEP == 0) {
+                        LOGGER.infof("Imported %d projects, %d files", projects, files);
+                    }
+                }
             });
-        } catch (Exception e) {
-            LOGGER.error("Error during project import", e);
+        });
+        // wait for the writes still in flight
+        permits.acquire(importConcurrency);
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        LOGGER.infof("Imported %d/%d projects with %d files in %d ms (%d files/s)",
+                projectsImported.get(), total, filesImported.get(), elapsed, filesImported.get() * 1000L / elapsed);
+    }
+
+    private Project getImportedProject(GitRepo repo) {
+        String folderName = repo.getName();
+        if (folderName.equals(Project.Type.templates.name())) {
+            return new Project(Project.Type.templates.name(), "Templates", "Templates", repo.getCommitId(), repo.getLastCommitTimestamp(), Project.Type.templates);
+        } else if (folderName.equals(Project.Type.kamelets.name())) {
+            return new Project(Project.Type.kamelets.name(), "Custom Kamelets", "Custom Kamelets", repo.getCommitId(), repo.getLastCommitTimestamp(), Project.Type.kamelets);
+        } else if (folderName.equals(Project.Type.services.name())) {
+            return new Project(Project.Type.services.name(), "Services", "Development Services", repo.getCommitId(), repo.getLastCommitTimestamp(), Project.Type.services);
+        } else {
+            return getProjectFromRepo(repo);
         }
     }
 
+    private CompletableFuture<Void> saveImportedProject(Project project, GitRepo repo) {
+        List<ProjectFile> files = repo.getFiles().stream()
+                .map(repoFile -> new ProjectFile(repoFile.getName(), repoFile.getBody(), repo.getName(), repoFile.getLastCommitTimestamp()))
+                .toList();
+        return CompletableFuture.allOf(
+                infinispanService.saveProjectAsync(project),
+                infinispanService.saveProjectFilesAsync(files)
+        );
+    }
+
     public Project importProject(String projectId) throws Exception {
         LOGGER.info("Import project from Git " + projectId);
         GitRepo repo = gitService.readProjectFromRepository(projectId);
@@ -308,11 +446,7 @@ public class ProjectService implements HealthCheck {
         LOGGER.info("Import project from GitRepo " + repo.getName());
         try {
             Project project = getProjectFromRepo(repo);
-            infinispanService.saveProject(project);
-            repo.getFiles().forEach(repoFile -> {
-                ProjectFile file = new ProjectFile(repoFile.getName(), repoFile.getBody(), repo.getName(), repoFile.getLastCommitTimestamp());
-                infinispanService.saveProjectFile(file);
-            });
+            saveImportedProject(project, repo).join();
             return project;
         } catch (Exception e) {
             LOGGER.error("Error during project import", e);
@@ -337,6 +471,25 @@ public class ProjectService implements HealthCheck {
         Project p = infinispanService.getProject(projectId);
         List<ProjectFile> files = infinispanService.getProjectFiles(projectId);
         RevCommit commit = gitService.commitAndPushProject(p, files, message);
+        return saveLastCommit(p, commit);
+    }
+
+    public List<Project> commitAndPushProjects(Collection<String> projectIds, String message) throws Exception {
+        Map<Project, List<ProjectFile>> projects = new LinkedHashMap<>();
+        projectIds.forEach(projectId -> {
+            Project p = infinispanService.getProject(projectId);
+            if (p != null) {
+                projects.put(p, infinispanService.getProjectFiles(projectId));
+            }
+        });
+        if (projects.isEmpty()) {
+            return List.of();
+        }
+        RevCommit commit = gitService.commitAndPushProjects(projects, message);
+        return projects.keySet().stream().map(p -> saveLastCommit(p, commit)).toList();
+    }
+
+    private Project saveLastCommit(Project p, RevCommit commit) {
         String commitId = commit.getId().getName();
         Long lastUpdate = commit.getCommitTime() * 1000L;
         p.setLastCommit(commitId);
@@ -345,21 +498,32 @@ public class ProjectService implements HealthCheck {
         return p;
     }
 
-    void addKameletsProject() {
+    private void pushDefaultProjects(List<String> projectIds) {
+        if (!projectIds.isEmpty()) {
+            try {
+                commitAndPushProjects(projectIds, "Add default projects: " + String.join(", ", projectIds));
+            } catch (Exception e) {
+                LOGGER.error("Error during default projects push", e);
+            }
+        }
+    }
+
+    boolean addKameletsProject() {
         LOGGER.info("Add custom kamelets project if not exists");
         try {
             Project kamelets = infinispanService.getProject(Project.Type.kamelets.name());
             if (kamelets == null) {
                 kamelets = new Project(Project.Type.kamelets.name(), "Custom Kamelets", "Custom Kamelets", "", Instant.now().toEpochMilli(), Project.Type.kamelets);
                 infinispanService.saveProject(kamelets);
-                commitAndPushProject(Project.Type.kamelets.name(), "Add custom kamelets");
+                return true;
             }
         } catch (Exception e) {
             LOGGER.error("Error during custom kamelets project creation", e);
         }
+        return false;
     }
 
-    void addTemplatesProject() {
+    boolean addTemplatesProject() {
         LOGGER.info("Add templates project if not exists");
         try {
             Project templates = infinispanService.getProject(Project.Type.templates.name());
@@ -371,14 +535,15 @@ public class ProjectService implements HealthCheck {
                     ProjectFile file = new ProjectFile(name, value, Project.Type.templates.name(), Instant.now().toEpochMilli());
                     infinispanService.saveProjectFile(file);
                 });
-                commitAndPushProject(Project.Type.templates.name(), "Add default templates");
+                return true;
             }
         } catch (Exception e) {
             LOGGER.error("Error during templates project creation", e);
         }
+        return false;
     }
 
-    void addServicesProject() {
+    boolean addServicesProject() {
         LOGGER.info("Add services project if not exists");
         try {
             Project services = infinispanService.getProject(Project.Type.services.name());
@@ -390,11 +555,12 @@ public class ProjectService implements HealthCheck {
                     ProjectFile file = new ProjectFile(name, value, Project.Type.services.name(), Instant.now().toEpochMilli());
                     infinispanService.saveProjectFile(file);
                 });
-                commitAndPushProject(Project.Type.services.name(), "Add services");
+                return true;
             }
         } catch (Exception e) {
             LOGGER.error("Error during services project creation", e);
         }
+        return false;
     }
 
     public String getDevServiceCode() {
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import io.quarkus.vertx.ConsumeEvent;
+import io.vertx.core.json.JsonObject;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.apache.camel.karavan.infinispan.InfinispanService;
+import org.apache.camel.karavan.infinispan.StatusCacheListener;
+import org.apache.camel.karavan.infinispan.model.ContainerStatus;
+import org.apache.camel.karavan.infinispan.model.DeploymentStatus;
+import org.apache.camel.karavan.infinispan.model.GroupedKey;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.apache.camel.karavan.infinispan.StatusCacheListener.STATUS_CHANGED;
+
+@ApplicationScoped
+public class StatusEventService {
+
+    private static final Logger LOGGER = Logger.getLogger(StatusEventService.class.getName());
+
+    // camel statuses change every few seconds per container and are not streamed
+    public static final Set<String> CACHES = Set.of(ContainerStatus.CACHE, DeploymentStatus.CACHE);
+
+    private final Map<SseEventSink, Set<String>> sinks = new ConcurrentHashMap<>();
+    private volatile Sse sse;
+
+    @Inject
+    InfinispanService infinispanService;
+
+    public void subscribe(SseEventSink sink, Sse sse, List<String> caches) {
+        this.sse = sse;
+        Set<String> selected = caches == null || caches.isEmpty()
+                ? CACHES
+                : caches.stream().filter(CACHES::contains).collect(Collectors.toSet());
+        sinks.put(sink, selected);
+        LOGGER.info("Status events subscriber added for " + selected + ", total " + sinks.size());
+    }
+
+    // one cache read per change, independent of the number of subscribers, and none when nobody wants the cache
+    @ConsumeEvent(value = STATUS_CHANGED, blocking = true, ordered = true)
+    public void onStatusChanged(JsonObject change) {
+        sinks.keySet().removeIf(SseEventSink::isClosed);
+        String cacheName = change.getString("cache");
+        if (!infinispanService.isReady() || sinks.values().stream().noneMatch(caches -> caches.contains(cacheName))) {
+            return;
+        }
+        String action = change.getString("action");
+        JsonObject event = new JsonObject().put("action", action);
+        if (change.containsKey("key")) {
+            event.put("key", change.getJsonObject("key"));
+        }
+        if (Objects.equals(action, StatusCacheListener.UPDATED)) {
+            JsonObject key = change.getJsonObject("key");
+            Object status = getStatus(cacheName, GroupedKey.create(key.getString("projectId"), key.getString("env"), key.getString("key")));
+            if (status == null) {
+                // removed in the meantime, the removal event follows
+                return;
+            }
+            event.put("status", JsonObject.mapFrom(status));
+        }
+        broadcast(cacheName, event);
+    }
+
+    private Object getStatus(String cacheName, GroupedKey key) {
+        return switch (cacheName) {
+            case ContainerStatus.CACHE -> infinispanService.getContainerStatus(key);
+            case DeploymentStatus.CACHE -> infinispanService.getDeploymentStatus(key);
+            default -> null;
+        };
+    }
+
+    private void broadcast(String name, JsonObject data) {
+        OutboundSseEvent event = sse.newEventBuilder()
+                .name(name)
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(data.encode())
+                .build();
+        sinks.forEach((sink, caches) -> {
+            if (caches.contains(name)) {
+                sink.send(event).whenComplete((result, error) -> {
+                    if (error != null) {
+                        sinks.remove(sink);
+                        sink.close();
+                    }
+                });
+            }
+        });
+    }
+}
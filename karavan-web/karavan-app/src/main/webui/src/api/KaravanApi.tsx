@@ -637,7 +637,7 @@ export class KaravanApi {
             if (KaravanApi.authType === 'oidc') {
                 headers.Authorization = "Bearer " + SsoApi.keycloak?.token
             }
-            await fetchEventSource("/api/logwatch/" + type + "/" + podName, {
+            await fetchEventSource("/api/logwatch/" + type + "/" + podName + "?batch=true", {
                 method: "GET",
                 headers: headers,
                 signal: controller.signal,
@@ -664,4 +664,29 @@ export class KaravanApi {
         };
         return fetchData();
     }
+
+    static async fetchStatusEvents(controller: AbortController, onOpen: () => void, onEvent: (name: string, data: any) => void) {
+        const headers: any = { Accept: "text/event-stream" };
+        if (KaravanApi.authType === 'oidc') {
+            headers.Authorization = "Bearer " + SsoApi.keycloak?.token
+        }
+        return fetchEventSource("/api/status/events?cache=container_statuses", {
+            method: "GET",
+            headers: headers,
+            signal: controller.signal,
+            openWhenHidden: true,
+            async onopen(response) {
+                if (response.ok) {
+                    // events missed while disconnected are recovered by a full refresh
+                    onOpen();
+                }
+            },
+            onmessage(event) {
+                onEvent(event.event, JSON.parse(event.data));
+            },
+            onerror(err) {
+                console.log("There was an error from server", err);
+            },
+        });
+    }
 }
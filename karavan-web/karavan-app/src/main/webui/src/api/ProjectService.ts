@@ -175,6 +175,20 @@ export class ProjectService {
         });
     }
 
+    public static applyContainerStatusEvent(event: any) {
+        if (event.action === 'resync') {
+            ProjectService.refreshAllContainerStatuses();
+        } else {
+            const containers = useStatusesStore.getState().containers
+                .filter(c => !(c.projectId === event.key.projectId && c.env === event.key.env && c.containerName === event.key.key));
+            if (event.action === 'updated') {
+                containers.push(event.status);
+            }
+            containers.sort((a, b) => a.projectId.localeCompare(b.projectId));
+            useStatusesStore.setState({containers: containers});
+        }
+    }
+
     public static refreshAllServicesStatuses() {
         KaravanApi.getAllServiceStatuses((statuses: ServiceStatus[]) => {
             useStatusesStore.setState({services: statuses});
@@ -352,7 +352,8 @@ const sub = ProjectEventBus.onLog()?.subscribe((result: ["add" | "set", string])
             useLogStore.setState((state: LogState) => {
                 const delimiter = state.data.endsWith('\n') ? '' : '\n';
                 const newData  = state.data ? state.data.concat(delimiter, result[1]) : result[1]
-                return ({data: newData, currentLine: state.currentLine+1});
+                const lines = result[1].replace(/\n$/, '').split('\n').length;
+                return ({data: newData, currentLine: state.currentLine + lines});
             })
         })
     }
@@ -47,6 +47,7 @@ import {useAppConfigStore, useStatusesStore} from "../api/ProjectStore";
 import {shallow} from "zustand/shallow";
 import {ContainerTableRow} from "./ContainerTableRow";
 import {ProjectService} from "../api/ProjectService";
+import {KaravanApi} from "../api/KaravanApi";
 
 export function ContainersPage () {
 
@@ -56,10 +57,13 @@ export function ContainersPage () {
     const [loading] = useState<boolean>(true);
 
     useEffect(() => {
-        const interval = setInterval(() => {
-            ProjectService.refreshAllContainerStatuses();
-        }, 1000)
-        return () => clearInterval(interval);
+        const controller = new AbortController();
+        KaravanApi.fetchStatusEvents(controller, () => ProjectService.refreshAllContainerStatuses(), (name, event) => {
+            if (name === 'container_statuses') {
+                ProjectService.applyContainerStatusEvent(event);
+            }
+        });
+        return () => controller.abort();
     }, []);
 
     function tools() {
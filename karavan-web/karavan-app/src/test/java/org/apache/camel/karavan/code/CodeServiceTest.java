@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.code;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CodeServiceTest {
+
+    private static final Map<String, String> FILES = Map.of(
+            "application.properties", "camel.karavan.project-id=demo\n",
+            "routes/" + "r".repeat(120) + ".camel.yaml", "- route:\n    id: demo\n");
+
+    @Test
+    void filesArchive() throws Exception {
+        byte[] archive = new CodeService().getFilesArchive(FILES, 0644, false);
+
+        assertEquals(FILES, readArchive(new ByteArrayInputStream(archive), 0644));
+    }
+
+    @Test
+    void compressedFilesArchive() throws Exception {
+        byte[] archive = new CodeService().getFilesArchive(FILES, 0755, true);
+
+        assertEquals(FILES, readArchive(new GZIPInputStream(new ByteArrayInputStream(archive)), 0755));
+    }
+
+    private Map<String, String> readArchive(InputStream in, int mode) throws IOException {
+        Map<String, String> files = new LinkedHashMap<>();
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(in)) {
+            for (TarArchiveEntry entry = tar.getNextEntry(); entry != null; entry = tar.getNextEntry()) {
+                assertEquals(mode, entry.getMode());
+                files.put(entry.getName(), new String(tar.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return files;
+    }
+}
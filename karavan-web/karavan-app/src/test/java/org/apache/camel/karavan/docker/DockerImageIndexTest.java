@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.docker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DockerImageIndexTest {
+
+    @Test
+    void projectKey() {
+        assertEquals("karavan/demo", DockerImageIndex.getProjectKey("registry:5000/karavan/demo:1700000000"));
+        assertEquals("karavan/demo", DockerImageIndex.getProjectKey("karavan/demo:latest"));
+        assertEquals("karavan/demo", DockerImageIndex.getProjectKey("karavan/demo"));
+        assertEquals("postgres", DockerImageIndex.getProjectKey("postgres:15"));
+    }
+
+    @Test
+    void normalize() {
+        assertEquals("postgres:latest", DockerImageIndex.normalize("postgres"));
+        assertEquals("postgres:15", DockerImageIndex.normalize("postgres:15"));
+        assertEquals("registry:5000/karavan/demo:latest", DockerImageIndex.normalize("registry:5000/karavan/demo"));
+        assertEquals("registry:5000/karavan/demo:1", DockerImageIndex.normalize("registry:5000/karavan/demo:1"));
+    }
+
+    @Test
+    void putAndRemove() {
+        DockerImageIndex index = new DockerImageIndex();
+        index.put("sha256:1", List.of("registry:5000/karavan/demo:1", "<none>:<none>"));
+        index.put("sha256:2", List.of("registry:5000/karavan/demo:2", "postgres:latest"));
+
+        assertTrue(index.hasTag("registry:5000/karavan/demo:1"));
+        assertFalse(index.hasTag("<none>:<none>"));
+        assertEquals("sha256:2", index.getImageId("postgres"));
+        assertEquals(2, index.getProjectTags("karavan", "demo").size());
+
+        index.remove("sha256:1");
+        assertFalse(index.hasTag("registry:5000/karavan/demo:1"));
+        assertEquals(List.of("registry:5000/karavan/demo:2"), index.getProjectTags("karavan", "demo"));
+    }
+
+    @Test
+    void tagMovedToNewImage() {
+        DockerImageIndex index = new DockerImageIndex();
+        index.put("sha256:1", List.of("karavan/demo:latest"));
+        index.put("sha256:2", List.of("karavan/demo:latest"));
+
+        assertEquals("sha256:2", index.getImageId("karavan/demo"));
+        index.remove("sha256:1");
+        assertEquals("sha256:2", index.getImageId("karavan/demo"));
+        assertEquals(List.of("karavan/demo:latest"), index.getProjectTags("karavan", "demo"));
+    }
+
+    @Test
+    void rebuildKeepsEventsDuringListing() {
+        DockerImageIndex index = new DockerImageIndex();
+        index.put("sha256:1", List.of("karavan/demo:1"));
+
+        index.startRebuild();
+        // events that arrive while the listing runs
+        index.put("sha256:3", List.of("karavan/demo:3"));
+        index.remove("sha256:2");
+        index.rebuild(Map.of(
+                "sha256:1", List.of("karavan/demo:1"),
+                "sha256:2", List.of("karavan/demo:2")));
+
+        assertTrue(index.hasTag("karavan/demo:1"));
+        assertFalse(index.hasTag("karavan/demo:2"));
+        assertTrue(index.hasTag("karavan/demo:3"));
+
+        index.rebuild(Map.of("sha256:1", List.of("karavan/demo:1")));
+        assertFalse(index.hasTag("karavan/demo:3"));
+    }
+}
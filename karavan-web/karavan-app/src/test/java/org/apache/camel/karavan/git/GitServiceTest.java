@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.git;
+
+import io.smallrye.mutiny.tuples.Tuple2;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.merge.MergeStrategy;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GitServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private int time = 1700000000;
+
+    @Test
+    void lastCommitsOfFilesAndFolders() throws Exception {
+        try (Git git = Git.init().setInitialBranch("main").setDirectory(dir.toFile()).call()) {
+            RevCommit first = commit(git, "first", "demo/a.yaml", "a", "demo/b.yaml", "b", "other/c.yaml", "c");
+            RevCommit second = commit(git, "second", "demo/b.yaml", "b2");
+
+            Map<String, Tuple2<String, Integer>> commits = GitService.lastCommits(git, List.of("demo", "demo/a.yaml", "demo/b.yaml", "other", "missing"));
+
+            assertEquals(second.getName(), commits.get("demo").getItem1());
+            assertEquals(first.getName(), commits.get("demo/a.yaml").getItem1());
+            assertEquals(second.getName(), commits.get("demo/b.yaml").getItem1());
+            assertEquals(first.getName(), commits.get("other").getItem1());
+            assertEquals(second.getCommitTime(), commits.get("demo").getItem2());
+            assertNull(commits.get("missing"));
+        }
+    }
+
+    @Test
+    void mergeKeepsSideBranchChange() throws Exception {
+        try (Git git = Git.init().setInitialBranch("main").setDirectory(dir.toFile()).call()) {
+            commit(git, "first", "demo/a.yaml", "a", "other/c.yaml", "c");
+            git.checkout().setCreateBranch(true).setName("side").call();
+            RevCommit side = commit(git, "side", "demo/a.yaml", "a2");
+            git.checkout().setName("main").call();
+            RevCommit main = commit(git, "main", "other/c.yaml", "c2");
+            git.merge().include(side).setCommit(false).call();
+            RevCommit merge = commit(git, "merge");
+            assertEquals(2, merge.getParentCount());
+
+            Map<String, Tuple2<String, Integer>> commits = GitService.lastCommits(git, List.of("demo", "other"));
+
+            assertEquals(side.getName(), commits.get("demo").getItem1());
+            assertEquals(main.getName(), commits.get("other").getItem1());
+        }
+    }
+
+    @Test
+    void mergeDiscardingSideBranchChangeIsSimplified() throws Exception {
+        try (Git git = Git.init().setInitialBranch("main").setDirectory(dir.toFile()).call()) {
+            RevCommit first = commit(git, "first", "demo/a.yaml", "a", "other/c.yaml", "c");
+            git.checkout().setCreateBranch(true).setName("side").call();
+            RevCommit side = commit(git, "side", "demo/a.yaml", "a2");
+            git.checkout().setName("main").call();
+            commit(git, "main", "other/c.yaml", "c2");
+            git.merge().include(side).setStrategy(MergeStrategy.OURS).setCommit(false).call();
+            RevCommit merge = commit(git, "merge");
+            assertEquals(2, merge.getParentCount());
+
+            Map<String, Tuple2<String, Integer>> commits = GitService.lastCommits(git, List.of("demo"));
+
+            assertEquals(first.getName(), commits.get("demo").getItem1());
+        }
+    }
+
+    @Test
+    void mergeKeepingPathsFromDifferentParentsIsSimplifiedPerPath() throws Exception {
+        try (Git git = Git.init().setInitialBranch("main").setDirectory(dir.toFile()).call()) {
+            RevCommit first = commit(git, "first", "demo/a.yaml", "a", "other/c.yaml", "c");
+            git.checkout().setCreateBranch(true).setName("side").call();
+            RevCommit side = commit(git, "side", "demo/a.yaml", "a2", "other/c.yaml", "c3");
+            git.checkout().setName("main").call();
+            commit(git, "main", "other/c.yaml", "c2");
+            // demo is kept from main and other is taken from side
+            git.merge().include(side).setStrategy(MergeStrategy.OURS).setCommit(false).call();
+            RevCommit merge = commit(git, "merge", "other/c.yaml", "c3");
+            assertEquals(2, merge.getParentCount());
+
+            Map<String, Tuple2<String, Integer>> commits = GitService.lastCommits(git, List.of("demo", "demo/a.yaml", "other"));
+
+            assertEquals(first.getName(), commits.get("demo").getItem1());
+            assertEquals(first.getName(), commits.get("demo/a.yaml").getItem1());
+            assertEquals(side.getName(), commits.get("other").getItem1());
+        }
+    }
+
+    // files are given as path and content pairs, commits get increasing times so the walk order is stable
+    private RevCommit commit(Git git, String message, String... files) throws Exception {
+        for (int i = 0; i < files.length; i += 2) {
+            Path path = dir.resolve(files[i]);
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, files[i + 1]);
+            git.add().addFilepattern(files[i]).call();
+        }
+        PersonIdent ident = new PersonIdent("karavan", "karavan@test.org", new Date(time++ * 1000L), TimeZone.getTimeZone("UTC"));
+        return git.commit().setMessage(message).setAuthor(ident).setCommitter(ident).call();
+    }
+}
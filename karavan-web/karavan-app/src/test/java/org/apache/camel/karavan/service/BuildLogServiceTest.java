@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import org.apache.camel.karavan.service.BuildLogService.BuildLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildLogServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void segmentsAndRangeReads() throws Exception {
+        BuildLog buildLog = new BuildLog(dir, 3);
+        for (int i = 0; i < 7; i++) {
+            buildLog.addLine("line " + i);
+        }
+
+        assertTrue(Files.exists(BuildLog.getSegmentFile(dir, 0)));
+        assertTrue(Files.exists(BuildLog.getSegmentFile(dir, 1)));
+        assertFalse(Files.exists(BuildLog.getSegmentFile(dir, 2)));
+
+        BuildLog.Snapshot snapshot = buildLog.snapshot();
+        assertEquals(List.of("line 2", "line 3", "line 4", "line 5", "line 6"), snapshot.read(2, 10));
+        assertEquals(List.of("line 6"), snapshot.read(6, 1));
+        assertEquals(List.of(), snapshot.read(7, 5));
+        assertEquals(7L, snapshot.toJson().getLong("total"));
+        assertFalse(snapshot.toJson().getBoolean("complete"));
+    }
+
+    @Test
+    void appendSplitsChunksIntoLines() throws Exception {
+        BuildLog buildLog = new BuildLog(dir, 10);
+        buildLog.append("first\nsec");
+        buildLog.append("ond\nthi");
+        buildLog.finish();
+
+        assertEquals(List.of("first", "second", "thi"), buildLog.snapshot().read(0, 10));
+    }
+
+    @Test
+    void finishedLogIsLoadedFromIndex() throws Exception {
+        BuildLog buildLog = new BuildLog(dir, 2);
+        for (int i = 0; i < 5; i++) {
+            buildLog.addLine("line " + i);
+        }
+        buildLog.finish();
+        buildLog.addLine("ignored");
+
+        BuildLog.Snapshot snapshot = BuildLog.load(dir).snapshot();
+        assertEquals(5L, snapshot.toJson().getLong("total"));
+        assertTrue(snapshot.toJson().getBoolean("complete"));
+        assertEquals(List.of("line 1", "line 2", "line 3", "line 4"), snapshot.read(1, 4));
+    }
+
+    @Test
+    void searchReturnsLineNumbers() throws Exception {
+        BuildLog buildLog = new BuildLog(dir, 2);
+        buildLog.addLine("[INFO] compile");
+        buildLog.addLine("[ERROR] first");
+        buildLog.addLine("[INFO] test");
+        buildLog.addLine("[ERROR] second");
+        buildLog.addLine("[ERROR] third");
+
+        BuildLog.Snapshot snapshot = buildLog.snapshot();
+        assertEquals(List.of(1L, 3L, 4L), snapshot.search("[ERROR]", 10));
+        assertEquals(List.of(1L, 3L), snapshot.search("[ERROR]", 2));
+    }
+
+    @Test
+    void failedSegmentWriteStopsTheLog() throws Exception {
+        Path missing = dir.resolve("missing");
+        BuildLog buildLog = new BuildLog(missing, 2);
+        buildLog.addLine("line 0");
+        buildLog.addLine("line 1");
+        buildLog.addLine("line 2");
+
+        BuildLog.Snapshot snapshot = buildLog.snapshot();
+        assertEquals(0L, snapshot.toJson().getLong("total"));
+        assertTrue(snapshot.toJson().getBoolean("complete"));
+        assertTrue(snapshot.toJson().getBoolean("broken"));
+        assertEquals(List.of(), snapshot.read(0, 10));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.apache.camel.karavan.service.LogWatchService.LogStream;
+import org.apache.camel.karavan.service.LogWatchService.LogSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogWatchServiceTest {
+
+    // events carry only their data, which is all the log stream sets
+    private static final Sse SSE = (Sse) Proxy.newProxyInstance(Sse.class.getClassLoader(), new Class<?>[]{Sse.class},
+            (proxy, method, args) -> method.getName().equals("newEvent") ? newEvent((String) args[args.length - 1]) : null);
+
+    @Test
+    void newSubscriberGetsRecentLines() {
+        LogStream stream = new LogStream("demo");
+        IntStream.range(0, 150).forEach(i -> stream.publish("line " + i));
+        TestSink sink = new TestSink(true);
+        stream.add(new LogSubscriber(sink, SSE, 1000, 0));
+        stream.publish("line 150");
+
+        assertEquals(LogWatchService.TAIL_LINES + 1, sink.data.size());
+        assertEquals("line 50", sink.data.get(0));
+        assertEquals("line 150", sink.data.get(sink.data.size() - 1));
+    }
+
+    @Test
+    void slowSubscriberDropsLines() {
+        LogStream stream = new LogStream("demo");
+        TestSink slow = new TestSink(false);
+        TestSink fast = new TestSink(true);
+        stream.add(new LogSubscriber(slow, SSE, 2, 0));
+        stream.add(new LogSubscriber(fast, SSE, 2, 0));
+        IntStream.range(0, 5).forEach(i -> stream.publish("line " + i));
+
+        assertEquals(List.of("line 0", "line 1"), slow.data);
+        assertEquals(5, fast.data.size());
+
+        slow.completeAll();
+        stream.publish("line 5");
+        assertEquals(List.of("line 0", "line 1", "... 3 lines dropped ...", "line 5"), slow.data);
+    }
+
+    @Test
+    void batchIsSentOnFlushOrWhenFull() {
+        LogStream stream = new LogStream("demo");
+        TestSink sink = new TestSink(true);
+        stream.add(new LogSubscriber(sink, SSE, 1000, 12));
+        stream.publish("a\n");
+        stream.publish("b");
+        assertTrue(sink.data.isEmpty());
+
+        stream.flush();
+        assertEquals(List.of("a\nb"), sink.data);
+
+        stream.publish("0123456789");
+        stream.publish("abc");
+        assertEquals(List.of("a\nb", "0123456789\nabc"), sink.data);
+        stream.flush();
+        assertEquals(2, sink.data.size());
+    }
+
+    @Test
+    void closeReleasesUpstreamAndSubscribers() {
+        LogStream stream = new LogStream("demo");
+        TestSink sink = new TestSink(true);
+        stream.add(new LogSubscriber(sink, SSE, 1000, 100));
+        AtomicBoolean upstreamClosed = new AtomicBoolean();
+        assertTrue(stream.setUpstream(() -> upstreamClosed.set(true)));
+        stream.publish("last");
+
+        stream.close();
+        assertTrue(stream.isClosed());
+        assertTrue(upstreamClosed.get());
+        assertTrue(sink.closed);
+        assertEquals(List.of("last"), sink.data);
+        assertEquals(0, stream.prune());
+
+        // an upstream started after the close is closed right away
+        AtomicBoolean lateUpstreamClosed = new AtomicBoolean();
+        assertFalse(stream.setUpstream(() -> lateUpstreamClosed.set(true)));
+        assertTrue(lateUpstreamClosed.get());
+    }
+
+    @Test
+    void pruneRemovesClosedSubscribers() {
+        LogStream stream = new LogStream("demo");
+        TestSink open = new TestSink(true);
+        TestSink closed = new TestSink(true);
+        stream.add(new LogSubscriber(open, SSE, 1000, 0));
+        stream.add(new LogSubscriber(closed, SSE, 1000, 0));
+        closed.close();
+
+        assertEquals(1, stream.prune());
+        stream.publish("line");
+        assertEquals(List.of("line"), open.data);
+        assertTrue(closed.data.isEmpty());
+    }
+
+    private static OutboundSseEvent newEvent(String data) {
+        return (OutboundSseEvent) Proxy.newProxyInstance(OutboundSseEvent.class.getClassLoader(), new Class<?>[]{OutboundSseEvent.class},
+                (proxy, method, args) -> method.getName().equals("getData") ? data : null);
+    }
+
+    // a sink that completes sends right away, or holds them to act as a slow client
+    private static class TestSink implements SseEventSink {
+
+        private final boolean completeSends;
+        private final List<String> data = new ArrayList<>();
+        private final List<CompletableFuture<Void>> sends = new ArrayList<>();
+        private boolean closed;
+
+        TestSink(boolean completeSends) {
+            this.completeSends = completeSends;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public CompletionStage<?> send(OutboundSseEvent event) {
+            data.add((String) event.getData());
+            CompletableFuture<Void> send = new CompletableFuture<>();
+            if (completeSends) {
+                send.complete(null);
+            } else {
+                sends.add(send);
+            }
+            return send;
+        }
+
+        void completeAll() {
+            sends.forEach(send -> send.complete(null));
+            sends.clear();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}